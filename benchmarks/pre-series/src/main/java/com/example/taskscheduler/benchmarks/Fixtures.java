@@ -0,0 +1,64 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The populations of the main module's Fixtures, built through the baseline
+ * API: same seeds and draws, with string ids and {@link LocalDateTime} fields.
+ */
+final class Fixtures {
+    private static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "meeting", "call", "draft", "release",
+            "budget", "plan", "fix", "audit", "design", "notes", "backup", "renew"
+    };
+
+    private Fixtures() {
+    }
+
+    static List<Task> tasks(int n, long seed) {
+        Random r = new Random(seed);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = task(r, now);
+            if (r.nextInt(10) < 8) {
+                t.setDeadline(now.plusMinutes(r.nextInt(60 * 24 * 60) - 30 * 24 * 60));
+                if (r.nextBoolean()) t.setReminderMinutesBefore(r.nextInt(120));
+            }
+            t.setCompleted(r.nextInt(5) == 0);
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    static List<Task> upcoming(int n, long seed) {
+        Random r = new Random(seed);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = task(r, now);
+            t.setReminderMinutesBefore(r.nextInt(60));
+            t.setDeadline(now.plusMinutes(120 + r.nextInt(30 * 24 * 60)));
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    private static Task task(Random r, LocalDateTime now) {
+        Task t = new Task();
+        t.setId(new UUID(r.nextLong(), r.nextLong()).toString());
+        t.setTitle(WORDS[r.nextInt(WORDS.length)] + " " + WORDS[r.nextInt(WORDS.length)] + " " + r.nextInt(1000));
+        t.setDescription(r.nextBoolean() ? null : "Details for " + WORDS[r.nextInt(WORDS.length)]);
+        t.setPriority(Priority.values()[r.nextInt(3)]);
+        t.setCreatedAt(now.minusMinutes(r.nextInt(90 * 24 * 60)));
+        return t;
+    }
+}
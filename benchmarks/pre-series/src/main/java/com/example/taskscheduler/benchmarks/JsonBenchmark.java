@@ -0,0 +1,37 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** JsonBenchmark without the parallel parse, which the baseline does not have. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Task> tasks;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.tasks(size, 42);
+        json = JsonUtil.toJson(tasks);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtil.toJson(tasks);
+    }
+
+    @Benchmark
+    public List<Task> parseTasks() {
+        return JsonUtil.parseTasks(json);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.logic.ReminderService;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReminderServiceBenchmark on the baseline's java.util.Timer. Cancelled
+ * timer tasks stay queued until their due time, so the queue grows during a
+ * run just as it did in the app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReminderServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private ReminderService reminders;
+    private List<Task> tasks;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.upcoming(size, 42);
+        reminders = new ReminderService();
+        reminders.rescheduleAll(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reminders.shutdown();
+    }
+
+    private Task nextTask() {
+        next = (next + 1) % size;
+        return tasks.get(next);
+    }
+
+    @Benchmark
+    public Task scheduleFor() {
+        Task t = nextTask();
+        reminders.scheduleFor(t);
+        return t;
+    }
+
+    @Benchmark
+    public Task cancelThenSchedule() {
+        Task t = nextTask();
+        reminders.cancel(t.getId());
+        reminders.scheduleFor(t);
+        return t;
+    }
+
+    @Benchmark
+    public int rescheduleAll() {
+        reminders.rescheduleAll(tasks);
+        return tasks.size();
+    }
+}
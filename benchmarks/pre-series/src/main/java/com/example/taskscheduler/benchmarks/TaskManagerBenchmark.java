@@ -0,0 +1,70 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** TaskManagerBenchmark without search, which the baseline does not have. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskManagerBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private TaskManager manager;
+    private List<Task> tasks;
+    private List<Task> fresh;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.tasks(size, 42);
+        fresh = Fixtures.tasks(1024, 7);
+        manager = new TaskManager();
+        manager.setAll(tasks);
+    }
+
+    private Task nextExisting() {
+        next = (next + 1) % size;
+        return tasks.get(next);
+    }
+
+    @Benchmark
+    public int addThenDelete() {
+        Task t = fresh.get(next++ & 1023);
+        manager.add(t);
+        manager.delete(t.getId());
+        return t.hashCode();
+    }
+
+    @Benchmark
+    public Task update() {
+        Task t = nextExisting();
+        t.setPriority(Priority.values()[(t.getPriority().ordinal() + 1) % 3]);
+        manager.update(t);
+        return t;
+    }
+
+    /** The baseline has no cached view: every call copies and sorts. */
+    @Benchmark
+    public List<Task> getAllCached() {
+        return manager.getAll();
+    }
+
+    @Benchmark
+    public List<Task> getAllAfterUpdate() {
+        manager.update(nextExisting());
+        return manager.getAll();
+    }
+
+    @Benchmark
+    public List<Task> filterOpenHigh() {
+        return manager.filter(t -> !t.isCompleted() && t.getPriority() == Priority.HIGH);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** TaskStorageBenchmark for JSON only; the baseline has no binary format and does not fsync. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskStorageBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"json"})
+    public String format;
+
+    private Path dir;
+    private TaskStorage storage;
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = Fixtures.tasks(size, 42);
+        dir = Files.createTempDirectory("task-storage-bench");
+        storage = new TaskStorage(dir.resolve("tasks." + format));
+        storage.save(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public void save() {
+        storage.save(tasks);
+    }
+
+    @Benchmark
+    public List<Task> load() {
+        return storage.load();
+    }
+}
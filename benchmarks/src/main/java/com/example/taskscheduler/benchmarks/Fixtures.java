@@ -0,0 +1,65 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Deterministic task populations shaped like a real store. */
+final class Fixtures {
+    private static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "meeting", "call", "draft", "release",
+            "budget", "plan", "fix", "audit", "design", "notes", "backup", "renew"
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * {@code n} tasks: priorities evenly spread, 80% with a deadline within 30
+     * days either side of now, half of those with a reminder, 20% completed.
+     */
+    static List<Task> tasks(int n, long seed) {
+        Random r = new Random(seed);
+        long now = DateUtil.toEpochMinutes(LocalDateTime.now());
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = task(r, now);
+            if (r.nextInt(10) < 8) {
+                t.setDeadlineMinutes(now + r.nextInt(60 * 24 * 60) - 30 * 24 * 60);
+                if (r.nextBoolean()) t.setReminderMinutesBefore(r.nextInt(120));
+            }
+            t.setCompleted(r.nextInt(5) == 0);
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    /** {@code n} open tasks whose reminders all fire between one hour and 30 days from now. */
+    static List<Task> upcoming(int n, long seed) {
+        Random r = new Random(seed);
+        long now = DateUtil.toEpochMinutes(LocalDateTime.now());
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = task(r, now);
+            t.setReminderMinutesBefore(r.nextInt(60));
+            t.setDeadlineMinutes(now + 120 + r.nextInt(30 * 24 * 60));
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    private static Task task(Random r, long now) {
+        Task t = new Task(new TaskId(r.nextLong(), r.nextLong()));
+        t.setTitle(WORDS[r.nextInt(WORDS.length)] + " " + WORDS[r.nextInt(WORDS.length)] + " " + r.nextInt(1000));
+        t.setDescription(r.nextBoolean() ? null : "Details for " + WORDS[r.nextInt(WORDS.length)]);
+        t.setPriority(Priority.values()[r.nextInt(3)]);
+        t.setCreatedAtMinutes(now - r.nextInt(90 * 24 * 60));
+        return t;
+    }
+}
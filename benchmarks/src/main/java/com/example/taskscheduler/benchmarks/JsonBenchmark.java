@@ -0,0 +1,45 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Serializing and parsing the JSON snapshot format in memory. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Task> tasks;
+    private String json;
+    private char[] chars;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.tasks(size, 42);
+        json = JsonUtil.toJson(tasks);
+        chars = json.toCharArray();
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtil.toJson(tasks);
+    }
+
+    @Benchmark
+    public List<Task> parseTasks() {
+        return JsonUtil.parseTasks(json);
+    }
+
+    @Benchmark
+    public List<Task> parseTasksParallel() throws IOException {
+        return JsonUtil.parseTasksParallel(chars, 0, chars.length);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.logic.ReminderService;
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arming and cancelling reminders with {@code size} reminders already on the
+ * wheel. All reminders fire well after the run, so nothing is delivered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReminderServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private ReminderService reminders;
+    private List<Task> tasks;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.upcoming(size, 42);
+        TaskManager manager = new TaskManager();
+        manager.setAll(tasks);
+        reminders = new ReminderService(Duration.ofDays(31));
+        reminders.attach(manager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reminders.shutdown();
+    }
+
+    private Task nextTask() {
+        next = (next + 1) % size;
+        return tasks.get(next);
+    }
+
+    /** Re-arms a task that is already scheduled (cancel plus insert on the wheel). */
+    @Benchmark
+    public Task scheduleFor() {
+        Task t = nextTask();
+        reminders.scheduleFor(t);
+        return t;
+    }
+
+    @Benchmark
+    public Task cancelThenSchedule() {
+        Task t = nextTask();
+        reminders.cancel(t.getTaskId());
+        reminders.scheduleFor(t);
+        return t;
+    }
+
+    @Benchmark
+    public int rescheduleAll() {
+        reminders.rescheduleAll(tasks);
+        return reminders.pendingCount();
+    }
+}
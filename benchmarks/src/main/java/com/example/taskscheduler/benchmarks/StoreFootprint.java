@@ -0,0 +1,52 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.logic.ColumnarTaskStore;
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.model.Task;
+
+import java.util.List;
+
+/**
+ * Prints the heap retained by a {@link TaskManager} and by a
+ * {@link ColumnarTaskStore} holding the same tasks, once the loaded
+ * {@link Task} list is no longer reachable. Takes the sizes as arguments.
+ */
+public final class StoreFootprint {
+    private StoreFootprint() {
+    }
+
+    public static void main(String[] args) {
+        String[] sizes = args.length > 0 ? args : new String[] {"100000", "1000000"};
+        System.out.printf("%10s %14s %14s%n", "tasks", "manager MB", "columnar MB");
+        for (String arg : sizes) {
+            int n = Integer.parseInt(arg);
+            long base = usedAfterGc();
+            TaskManager manager = new TaskManager();
+            manager.setAll(Fixtures.tasks(n, 42));
+            long managerBytes = usedAfterGc() - base;
+            // Keeps the manager reachable through the measurement, then drops it
+            if (manager.size() != n) throw new IllegalStateException("lost tasks");
+            manager = null;
+
+            base = usedAfterGc();
+            ColumnarTaskStore columns = new ColumnarTaskStore();
+            columns.setAll(Fixtures.tasks(n, 42));
+            long columnarBytes = usedAfterGc() - base;
+            System.out.printf("%,10d %14.1f %14.1f%n", columns.size(),
+                    managerBytes / 1e6, columnarBytes / 1e6);
+        }
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
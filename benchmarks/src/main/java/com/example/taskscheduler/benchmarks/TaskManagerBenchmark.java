@@ -0,0 +1,77 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Single-threaded cost of TaskManager mutations and queries at a given store size. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskManagerBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private TaskManager manager;
+    private List<Task> tasks;
+    private List<Task> fresh;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.tasks(size, 42);
+        fresh = Fixtures.tasks(1024, 7);
+        manager = new TaskManager();
+        manager.setAll(tasks);
+    }
+
+    private Task nextExisting() {
+        next = (next + 1) % size;
+        return tasks.get(next);
+    }
+
+    /** One insert and one delete, so the store keeps its size. */
+    @Benchmark
+    public int addThenDelete() {
+        Task t = fresh.get(next++ & 1023);
+        manager.add(t);
+        manager.delete(t.getTaskId());
+        return manager.size();
+    }
+
+    @Benchmark
+    public Task update() {
+        Task t = nextExisting();
+        t.setPriority(Priority.values()[(t.getPriority().ordinal() + 1) % 3]);
+        manager.update(t);
+        return t;
+    }
+
+    /** Served from the cached sorted snapshot. */
+    @Benchmark
+    public List<Task> getAllCached() {
+        return manager.getAll();
+    }
+
+    /** A write invalidates the snapshot, so getAll re-sorts the whole store. */
+    @Benchmark
+    public List<Task> getAllAfterUpdate() {
+        manager.update(nextExisting());
+        return manager.getAll();
+    }
+
+    @Benchmark
+    public List<Task> filterOpenHigh() {
+        return manager.filter(t -> !t.isCompleted() && t.getPriority() == Priority.HIGH);
+    }
+
+    @Benchmark
+    public List<Task> search() {
+        return manager.search("rep");
+    }
+}
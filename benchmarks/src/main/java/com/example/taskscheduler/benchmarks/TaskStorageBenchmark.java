@@ -0,0 +1,61 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full snapshot writes and reads through {@link TaskStorage}, on the local
+ * temp directory. Saves wait until the file is forced to disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskStorageBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"json", "bin"})
+    public String format;
+
+    private Path dir;
+    private TaskStorage storage;
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = Fixtures.tasks(size, 42);
+        dir = Files.createTempDirectory("task-storage-bench");
+        storage = new TaskStorage(dir.resolve("tasks." + format));
+        storage.save(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public void save() {
+        storage.save(tasks);
+    }
+
+    @Benchmark
+    public List<Task> load() {
+        return storage.load();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.logic.ColumnarTaskStore;
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.logic.TaskQueries;
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queries the command line export runs, on {@link TaskManager} and on the
+ * {@link ColumnarTaskStore} it uses when there is no search query. Heap held
+ * by each is measured by {@link StoreFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskStoreBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"manager", "columnar"})
+    public String store;
+
+    private List<Task> tasks;
+    private TaskQueries queries;
+    private LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.tasks(size, 42);
+        queries = load();
+        now = LocalDateTime.now();
+    }
+
+    private TaskQueries load() {
+        if (store.equals("columnar")) {
+            ColumnarTaskStore columns = new ColumnarTaskStore();
+            columns.setAll(tasks);
+            return columns;
+        }
+        TaskManager manager = new TaskManager();
+        manager.setAll(tasks);
+        return manager;
+    }
+
+    @Benchmark
+    public TaskQueries setAll() {
+        return load();
+    }
+
+    @Benchmark
+    public List<Task> overdue() {
+        return queries.overdueAsOf(now);
+    }
+
+    @Benchmark
+    public List<Task> highPriority() {
+        return queries.byPriority(Priority.HIGH);
+    }
+
+    @Benchmark
+    public List<Task> open() {
+        return queries.open();
+    }
+
+    @Benchmark
+    public Task getById() {
+        return queries.getById(tasks.get(size / 2).getTaskId());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskscheduler.benchmarks;
+
+import com.example.taskscheduler.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/** Sorting by {@link Task#urgencyCompareTo}; includes copying the unsorted array. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UrgencySortBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private Task[] tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = Fixtures.tasks(size, 42).toArray(new Task[0]);
+    }
+
+    @Benchmark
+    public Task[] sort() {
+        Task[] copy = tasks.clone();
+        Arrays.sort(copy, Task::urgencyCompareTo);
+        return copy;
+    }
+}
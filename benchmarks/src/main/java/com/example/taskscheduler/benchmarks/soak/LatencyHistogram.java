@@ -0,0 +1,80 @@
+package com.example.taskscheduler.benchmarks.soak;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of non-negative longs. Each power of two is
+ * split into {@value #SUB_BUCKETS} linear buckets, so percentiles are accurate
+ * to about 1.6% across the whole range while memory stays fixed. Recording
+ * threads never block; {@link #drain()} moves the counts out for a report.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long value) {
+        counts.incrementAndGet(index(Math.max(0, value)));
+    }
+
+    /** Returns the counts recorded since the last drain and resets them. */
+    Snapshot drain() {
+        Snapshot s = new Snapshot();
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                c = counts.getAndAdd(i, -c);
+                s.counts[i] += c;
+                s.count += c;
+            }
+        }
+        return s;
+    }
+
+    private static int index(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((v >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /** Smallest value that lands in the bucket. */
+    private static long lowerBound(int index) {
+        int bucket = index >>> SUB_BITS;
+        int sub = index & (SUB_BUCKETS - 1);
+        return bucket == 0 ? sub : (long) (SUB_BUCKETS + sub) << (bucket - 1);
+    }
+
+    static final class Snapshot {
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+
+        long count() {
+            return count;
+        }
+
+        void add(Snapshot other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+        }
+
+        /** Upper bound of the bucket holding the {@code q} quantile, 0 if empty. */
+        long percentile(double q) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) return i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+            }
+            return Long.MAX_VALUE;
+        }
+
+        long max() {
+            return percentile(1.0);
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package com.example.taskscheduler.benchmarks.soak;
+
+import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.logic.ReminderBatch;
+import com.example.taskscheduler.logic.ReminderService;
+import com.example.taskscheduler.logic.ReminderSink;
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Long-running load generator. Worker threads replay a mix of adds, edits,
+ * completions, deletes and searches against a {@link TaskManager}, a journaled
+ * {@link TaskStorage} and a {@link ReminderService} wired the way the main
+ * window wires them, without any UI. Every report interval it prints, per
+ * operation, the throughput and the p50/p99/p999/max latency, plus how long
+ * after coming due reminders reached their sink; a summary for the whole run
+ * follows at the end or on Ctrl-C.
+ * <p>
+ * By default each worker runs its next operation as soon as the previous one
+ * returns. With {@code --rate} the workers follow a fixed schedule and latency
+ * is measured from the time each operation was due to start, so a stall shows
+ * up in every operation queued behind it rather than in one slow sample.
+ */
+public final class SoakTest {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: SoakTest [options]",
+            "  --duration <time>        run length, e.g. 90s, 30m, 8h (default 10m)",
+            "  --report <time>          report interval (default 10s)",
+            "  --threads <n>            worker threads (default 4)",
+            "  --rate <ops/s>           total target rate; 0 runs flat out (default 0)",
+            "  --tasks <n>              tasks loaded before the run (default 10000)",
+            "  --max-tasks <n>          adds turn into deletes above this (default 1000000)",
+            "  --mix <weights>          default add=10,edit=25,complete=10,delete=10,search=45",
+            "  --priorities <weights>   default high=20,medium=50,low=30",
+            "  --deadlines <share>      share of tasks with a deadline (default 0.8)",
+            "  --deadline-days <n>      deadlines fall within n days either side of now (default 30)",
+            "  --reminders <share>      share of deadlines with a reminder (default 0.5)",
+            "  --reminder-lead <min>    reminder lead time, 0 to n minutes (default 120)",
+            "  --soon <share>           share of reminders that fire during the run (default 0.2)",
+            "  --soon-window <min>      they fire within n minutes of being set (default 10)",
+            "  --delivery-interval <t>  minimum time between reminder batches (default 1s)",
+            "  --store <file>           snapshot to write; overwritten (default a temporary file)",
+            "  --seed <n>               random seed (default 42)");
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final PrintStream out;
+    private final Duration duration;
+    private final Duration reportInterval;
+    private final int threads;
+    private final double rate;
+    private final int initialTasks;
+    private final int maxTasks;
+    private final long seed;
+    private final Workload workload;
+
+    private final TaskManager manager = new TaskManager();
+    private final ReminderService reminders = new ReminderService();
+    private final TaskStorage storage;
+    private final Path store;
+    private final Path tempDir;
+
+    private final TaskIdPool pool = new TaskIdPool();
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+    private final Map<TaskId, Scheduled> scheduled = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Workload.Op.values().length];
+    private final LatencyHistogram persistLatency = new LatencyHistogram();
+    private final LatencyHistogram reminderSkew = new LatencyHistogram();
+    private final LongAdder remindersStale = new LongAdder();
+    private final LongAdder remindersDropped = new LongAdder();
+    private final LongAdder searchHits = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private volatile boolean stopped;
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    /** The reminder a task was last given, and when; stale reminders for earlier versions don't match. */
+    private static final class Scheduled {
+        final Task task;
+        final long atMillis;
+
+        Scheduled(Task task, long atMillis) {
+            this.task = task;
+            this.atMillis = atMillis;
+        }
+    }
+
+    private SoakTest(Map<String, String> o, PrintStream out) throws IOException {
+        this.out = out;
+        this.duration = duration(o.getOrDefault("duration", "10m"));
+        this.reportInterval = duration(o.getOrDefault("report", "10s"));
+        this.threads = Integer.parseInt(o.getOrDefault("threads", "4"));
+        this.rate = Double.parseDouble(o.getOrDefault("rate", "0"));
+        this.initialTasks = Integer.parseInt(o.getOrDefault("tasks", "10000"));
+        this.maxTasks = Integer.parseInt(o.getOrDefault("max-tasks", "1000000"));
+        this.seed = Long.parseLong(o.getOrDefault("seed", "42"));
+        this.workload = new Workload(
+                o.getOrDefault("mix", "add=10,edit=25,complete=10,delete=10,search=45"),
+                o.getOrDefault("priorities", "high=20,medium=50,low=30"),
+                Double.parseDouble(o.getOrDefault("deadlines", "0.8")),
+                Integer.parseInt(o.getOrDefault("deadline-days", "30")),
+                Double.parseDouble(o.getOrDefault("reminders", "0.5")),
+                Integer.parseInt(o.getOrDefault("reminder-lead", "120")),
+                Double.parseDouble(o.getOrDefault("soon", "0.2")),
+                Integer.parseInt(o.getOrDefault("soon-window", "10")));
+        if (threads < 1) throw new IllegalArgumentException("--threads must be at least 1");
+        if (rate < 0) throw new IllegalArgumentException("--rate must not be negative");
+        if (reportInterval.isZero() || reportInterval.isNegative()) throw new IllegalArgumentException("--report must be positive");
+        reminders.setMinDeliveryInterval(duration(o.getOrDefault("delivery-interval", "1s")));
+
+        if (o.containsKey("store")) {
+            store = Path.of(o.get("store"));
+            tempDir = null;
+        } else {
+            tempDir = Files.createTempDirectory("task-soak");
+            store = tempDir.resolve("tasks.json");
+        }
+        this.storage = new TaskStorage(store, true);
+        for (int i = 0; i < LOCK_STRIPES; i++) stripes[i] = new Object();
+        for (int i = 0; i < latencies.length; i++) latencies[i] = new LatencyHistogram();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (args[i].equals("--help") || args[i].equals("-h")) {
+                System.out.println(USAGE);
+                return;
+            }
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println("Bad option: " + args[i]);
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        SoakTest test;
+        try {
+            test = new SoakTest(options, System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        test.run();
+    }
+
+    private void run() throws Exception {
+        out.printf("Loading %,d tasks into %s%n", initialTasks, store);
+        Random r = new Random(seed);
+        long now = nowMinutes();
+        long nowMillis = System.currentTimeMillis();
+        List<Task> initial = new ArrayList<>(initialTasks);
+        for (int i = 0; i < initialTasks; i++) {
+            Task t = workload.newTask(r, now);
+            initial.add(t);
+            pool.add(t.getTaskId());
+            track(t, nowMillis);
+        }
+        manager.setAll(initial);
+        storage.save(initial);
+        reminders.addSink(new SkewSink());
+        reminders.attach(manager);
+
+        Thread main = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (finished.getCount() == 0) return;
+            stopped = true;
+            main.interrupt();
+            try {
+                finished.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // Exiting anyway
+            }
+        }, "SoakTestShutdown"));
+
+        out.printf("Running %d threads for %s%s%n", threads, format(duration),
+                rate > 0 ? String.format(" at %,.0f ops/s", rate) : "");
+        long intervalNanos = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(new Worker(seed + 1 + i, intervalNanos), "SoakWorker-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+        }
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextReport = start + reportInterval.toNanos();
+        workers.forEach(Thread::start);
+
+        Totals totals = new Totals();
+        long lastReport = start;
+        try {
+            while (!stopped) {
+                long wait = Math.min(nextReport, end) - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                    continue;
+                }
+                if (System.nanoTime() >= end) break;
+                long t = System.nanoTime();
+                report(totals, t - start, t - lastReport);
+                lastReport = t;
+                nextReport += reportInterval.toNanos();
+            }
+        } catch (InterruptedException e) {
+            // Ctrl-C: stop early but still report
+        }
+        stopped = true;
+        for (Thread t : workers) joinUninterruptibly(t);
+        long t = System.nanoTime();
+        report(totals, t - start, t - lastReport);
+        try {
+            long flushStart = System.nanoTime();
+            storage.flush().join();
+            out.printf("%nFinal flush took %s%n", nanos(System.nanoTime() - flushStart));
+            summary(totals, t - start);
+        } finally {
+            storage.close();
+            reminders.shutdown();
+            if (tempDir != null) deleteTree(tempDir);
+            finished.countDown();
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final Random random;
+        private final long intervalNanos;
+
+        Worker(long seed, long intervalNanos) {
+            this.random = new Random(seed);
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public void run() {
+            long next = System.nanoTime();
+            while (!stopped) {
+                Workload.Op op = workload.nextOp(random);
+                if (op == Workload.Op.ADD && pool.size() >= maxTasks) op = Workload.Op.DELETE;
+                // Generated ahead so only the work the app does is timed
+                Task added = op == Workload.Op.ADD ? workload.newTask(random, nowMinutes()) : null;
+                long start;
+                if (intervalNanos > 0) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) LockSupport.parkNanos(wait);
+                    start = next;
+                    next += intervalNanos;
+                } else {
+                    start = System.nanoTime();
+                }
+                try {
+                    if (execute(op, added, random)) latencies[op.ordinal()].record(System.nanoTime() - start);
+                } catch (RuntimeException e) {
+                    if (errors.sum() == 0) e.printStackTrace();
+                    errors.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one operation the way the main window does it. Operations on an
+     * existing task hold that task's lock stripe, so an edit can't journal a
+     * task another worker has just deleted. Returns false if there was no
+     * task to act on.
+     */
+    private boolean execute(Workload.Op op, Task added, Random r) {
+        switch (op) {
+            case ADD: {
+                track(added, System.currentTimeMillis());
+                manager.add(added);
+                reminders.scheduleFor(added);
+                persist(storage.recordAdd(added));
+                pool.add(added.getTaskId());
+                return true;
+            }
+            case EDIT: {
+                TaskId id = pool.pick(r);
+                if (id == null) return false;
+                synchronized (stripe(id)) {
+                    Task old = manager.getById(id);
+                    if (old == null) return false;
+                    Task t = workload.edited(old, r, nowMinutes());
+                    track(t, System.currentTimeMillis());
+                    manager.update(t);
+                    reminders.scheduleFor(t);
+                    persist(storage.recordUpdate(t));
+                }
+                return true;
+            }
+            case COMPLETE: {
+                TaskId id = pool.pick(r);
+                if (id == null) return false;
+                synchronized (stripe(id)) {
+                    Task old = manager.getById(id);
+                    if (old == null) return false;
+                    Task t = Workload.copy(old);
+                    t.setCompleted(true);
+                    scheduled.remove(id);
+                    manager.update(t);
+                    reminders.cancel(id);
+                    persist(storage.recordUpdate(t));
+                }
+                return true;
+            }
+            case DELETE: {
+                TaskId id = pool.take(r);
+                if (id == null) return false;
+                synchronized (stripe(id)) {
+                    scheduled.remove(id);
+                    reminders.cancel(id);
+                    manager.delete(id);
+                    persist(storage.recordDelete(id));
+                }
+                return true;
+            }
+            case SEARCH:
+                searchHits.add(manager.search(workload.searchTerm(r)).size());
+                return true;
+            default:
+                throw new AssertionError(op);
+        }
+    }
+
+    private Object stripe(TaskId id) {
+        return stripes[(id.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private void track(Task t, long nowMillis) {
+        if (t.hasDeadline() && !t.isCompleted() && t.getReminderMinutesBefore() != null) {
+            scheduled.put(t.getTaskId(), new Scheduled(t, nowMillis));
+        } else {
+            scheduled.remove(t.getTaskId());
+        }
+    }
+
+    /** Times a journal write from the call until it is on disk. */
+    private void persist(CompletableFuture<Void> write) {
+        long start = System.nanoTime();
+        write.whenComplete((v, e) -> {
+            if (e == null) persistLatency.record(System.nanoTime() - start);
+            else errors.increment();
+        });
+    }
+
+    /**
+     * Measures reminder skew: delivery time minus the later of the trigger time
+     * and the time the reminder was set, so one set for a moment already past
+     * counts from when it was set. Reminders for a task that has since been
+     * edited, completed or deleted are counted as stale instead.
+     */
+    private final class SkewSink implements ReminderSink {
+        @Override
+        public void deliver(ReminderBatch batch) {
+            long now = System.currentTimeMillis();
+            remindersDropped.add(batch.getDropped());
+            for (Task t : batch.getTasks()) {
+                Scheduled s = scheduled.get(t.getTaskId());
+                if (s == null || s.task != t) {
+                    remindersStale.increment();
+                    continue;
+                }
+                LocalDateTime trigger = DateUtil.fromEpochMinutes(t.getDeadlineMinutes() - t.getReminderMinutesBefore());
+                long due = Math.max(trigger.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), s.atMillis);
+                reminderSkew.record(TimeUnit.MILLISECONDS.toNanos(now - due));
+            }
+        }
+    }
+
+    /** Counts for the whole run, built up from each interval's. */
+    private final class Totals {
+        final LatencyHistogram.Snapshot[] ops = new LatencyHistogram.Snapshot[latencies.length];
+        final LatencyHistogram.Snapshot persist = new LatencyHistogram.Snapshot();
+        final LatencyHistogram.Snapshot skew = new LatencyHistogram.Snapshot();
+        long stale;
+        long dropped;
+
+        Totals() {
+            for (int i = 0; i < ops.length; i++) ops[i] = new LatencyHistogram.Snapshot();
+        }
+    }
+
+    private void report(Totals totals, long elapsedNanos, long intervalNanos) {
+        Runtime rt = Runtime.getRuntime();
+        out.printf("%n[%s] tasks %,d  reminders armed %,d  heap %,d MB  errors %,d%n",
+                format(Duration.ofNanos(elapsedNanos)), manager.size(), reminders.pendingCount(),
+                (rt.totalMemory() - rt.freeMemory()) >> 20, errors.sum());
+        header();
+        for (Workload.Op op : Workload.Op.values()) {
+            LatencyHistogram.Snapshot s = latencies[op.ordinal()].drain();
+            totals.ops[op.ordinal()].add(s);
+            row(op.name().toLowerCase(Locale.ROOT), s, intervalNanos);
+        }
+        LatencyHistogram.Snapshot persist = persistLatency.drain();
+        totals.persist.add(persist);
+        row("persist", persist, intervalNanos);
+        LatencyHistogram.Snapshot skew = reminderSkew.drain();
+        totals.skew.add(skew);
+        long stale = remindersStale.sumThenReset();
+        long dropped = remindersDropped.sumThenReset();
+        totals.stale += stale;
+        totals.dropped += dropped;
+        reminderRow(skew, stale, dropped);
+    }
+
+    private void summary(Totals totals, long elapsedNanos) {
+        out.printf("%nTotal over %s%n", format(Duration.ofNanos(elapsedNanos)));
+        header();
+        long all = 0;
+        for (Workload.Op op : Workload.Op.values()) {
+            LatencyHistogram.Snapshot s = totals.ops[op.ordinal()];
+            all += s.count();
+            row(op.name().toLowerCase(Locale.ROOT), s, elapsedNanos);
+        }
+        row("persist", totals.persist, elapsedNanos);
+        reminderRow(totals.skew, totals.stale, totals.dropped);
+        out.printf("%,.0f ops/s overall; searches returned %,.1f tasks on average%n",
+                all / (elapsedNanos / 1e9),
+                (double) searchHits.sum() / Math.max(1, totals.ops[Workload.Op.SEARCH.ordinal()].count()));
+    }
+
+    private void header() {
+        out.printf("%-10s %12s %10s %10s %10s %10s %10s%n", "", "count", "ops/s", "p50", "p99", "p999", "max");
+    }
+
+    private void row(String name, LatencyHistogram.Snapshot s, long overNanos) {
+        out.printf("%-10s %,12d %,10.0f %10s %10s %10s %10s%n", name, s.count(), s.count() / (overNanos / 1e9),
+                nanos(s.percentile(0.5)), nanos(s.percentile(0.99)), nanos(s.percentile(0.999)), nanos(s.max()));
+    }
+
+    private void reminderRow(LatencyHistogram.Snapshot skew, long stale, long dropped) {
+        out.printf("%-10s %,12d %10s %10s %10s %10s %10s  stale %,d  dropped %,d%n", "reminder", skew.count(), "",
+                nanos(skew.percentile(0.5)), nanos(skew.percentile(0.99)), nanos(skew.percentile(0.999)),
+                nanos(skew.max()), stale, dropped);
+    }
+
+    private static String nanos(long n) {
+        if (n < 1_000) return n + "ns";
+        if (n < 1_000_000) return String.format("%.1fus", n / 1e3);
+        if (n < 1_000_000_000) return String.format("%.1fms", n / 1e6);
+        return String.format("%.2fs", n / 1e9);
+    }
+
+    private static String format(Duration d) {
+        long s = d.getSeconds();
+        return String.format("%d:%02d:%02d", s / 3600, s / 60 % 60, s % 60);
+    }
+
+    private static long nowMinutes() {
+        return DateUtil.toEpochMinutes(LocalDateTime.now());
+    }
+
+    /** {@code 500ms}, {@code 90s}, {@code 30m} or {@code 8h}. */
+    private static Duration duration(String s) {
+        String unit = s.replaceAll("^[0-9]+", "");
+        String amount = s.substring(0, s.length() - unit.length());
+        if (amount.isEmpty()) throw new IllegalArgumentException("Bad duration: " + s);
+        long n = Long.parseLong(amount);
+        switch (unit) {
+            case "ms": return Duration.ofMillis(n);
+            case "s": return Duration.ofSeconds(n);
+            case "m": return Duration.ofMinutes(n);
+            case "h": return Duration.ofHours(n);
+            default: throw new IllegalArgumentException("Bad duration: " + s);
+        }
+    }
+
+    /** The shutdown hook may interrupt the main thread at any point; the summary still has to be printed. */
+    private static void joinUninterruptibly(Thread t) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                t.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private static void deleteTree(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
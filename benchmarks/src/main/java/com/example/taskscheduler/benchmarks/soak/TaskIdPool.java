@@ -0,0 +1,42 @@
+package com.example.taskscheduler.benchmarks.soak;
+
+import com.example.taskscheduler.model.TaskId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/** Ids of the live tasks, with O(1) random pick and removal. */
+final class TaskIdPool {
+    private final List<TaskId> ids = new ArrayList<>();
+    private final Map<TaskId, Integer> positions = new HashMap<>();
+
+    synchronized void add(TaskId id) {
+        if (positions.putIfAbsent(id, ids.size()) == null) ids.add(id);
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+
+    /** A random live id, or null if there are none. */
+    synchronized TaskId pick(Random r) {
+        return ids.isEmpty() ? null : ids.get(r.nextInt(ids.size()));
+    }
+
+    /** Removes and returns a random id, so no other thread picks it for deletion. */
+    synchronized TaskId take(Random r) {
+        if (ids.isEmpty()) return null;
+        int i = r.nextInt(ids.size());
+        TaskId id = ids.get(i);
+        TaskId last = ids.remove(ids.size() - 1);
+        if (last != id) {
+            ids.set(i, last);
+            positions.put(last, i);
+        }
+        positions.remove(id);
+        return id;
+    }
+}
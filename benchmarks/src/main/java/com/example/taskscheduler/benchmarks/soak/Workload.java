@@ -0,0 +1,147 @@
+package com.example.taskscheduler.benchmarks.soak;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Shape of the synthetic workload: the mix of operations and the
+ * distributions new and edited tasks are drawn from. Thread-safe; callers
+ * pass their own {@link Random}.
+ */
+final class Workload {
+    enum Op { ADD, EDIT, COMPLETE, DELETE, SEARCH }
+
+    private static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "meeting", "call", "draft", "release",
+            "budget", "plan", "fix", "audit", "design", "notes", "backup", "renew"
+    };
+
+    private final int[] opWeights;
+    private final int[] priorityWeights;
+    private final double deadlineShare;
+    private final int deadlineSpreadMinutes;
+    private final double reminderShare;
+    private final int maxReminderLead;
+    private final double soonShare;
+    private final int soonWindowMinutes;
+
+    /**
+     * @param mix              weights per operation, e.g. {@code add=10,edit=25,complete=10,delete=10,search=45}
+     * @param priorities       weights per priority, e.g. {@code high=20,medium=50,low=30}
+     * @param deadlineShare    share of tasks with a deadline
+     * @param deadlineDays     deadlines fall uniformly within this many days either side of now
+     * @param reminderShare    share of tasks with a deadline that also have a reminder
+     * @param maxReminderLead  reminders fire up to this many minutes before the deadline
+     * @param soonShare        share of reminders placed to fire during the run rather than anywhere in the spread
+     * @param soonWindow       those reminders fire within this many minutes of now
+     */
+    Workload(String mix, String priorities, double deadlineShare, int deadlineDays,
+             double reminderShare, int maxReminderLead, double soonShare, int soonWindow) {
+        this.opWeights = weights(mix, Op.values());
+        this.priorityWeights = weights(priorities, Priority.values());
+        this.deadlineShare = share("deadlines", deadlineShare);
+        this.deadlineSpreadMinutes = Math.max(1, deadlineDays) * 24 * 60;
+        this.reminderShare = share("reminders", reminderShare);
+        this.maxReminderLead = Math.max(0, maxReminderLead);
+        this.soonShare = share("soon", soonShare);
+        this.soonWindowMinutes = Math.max(1, soonWindow);
+    }
+
+    Op nextOp(Random r) {
+        return Op.values()[pick(opWeights, r)];
+    }
+
+    Task newTask(Random r, long nowMinutes) {
+        Task t = new Task(new TaskId(r.nextLong(), r.nextLong()));
+        t.setTitle(WORDS[r.nextInt(WORDS.length)] + " " + WORDS[r.nextInt(WORDS.length)] + " " + r.nextInt(1000));
+        t.setDescription(r.nextBoolean() ? null : "Details for " + WORDS[r.nextInt(WORDS.length)]);
+        t.setCreatedAtMinutes(nowMinutes);
+        reshape(t, r, nowMinutes);
+        return t;
+    }
+
+    /** A copy of {@code original} as the edit dialog would save it: new title, priority and dates. */
+    Task edited(Task original, Random r, long nowMinutes) {
+        Task t = copy(original);
+        t.setTitle(WORDS[r.nextInt(WORDS.length)] + " " + original.getTitle());
+        t.setDeadlineMinutes(DateUtil.NO_TIME);
+        t.setReminderMinutesBefore(null);
+        reshape(t, r, nowMinutes);
+        return t;
+    }
+
+    /** Tasks handed to the manager are never changed in place, so other threads can keep reading them. */
+    static Task copy(Task original) {
+        Task t = new Task(original.getTaskId());
+        t.setTitle(original.getTitle());
+        t.setDescription(original.getDescription());
+        t.setPriority(original.getPriority());
+        t.setDeadlineMinutes(original.getDeadlineMinutes());
+        t.setCreatedAtMinutes(original.getCreatedAtMinutes());
+        t.setCompleted(original.isCompleted());
+        t.setReminderMinutesBefore(original.getReminderMinutesBefore());
+        t.setOwner(original.getOwner());
+        return t;
+    }
+
+    String searchTerm(Random r) {
+        String word = WORDS[r.nextInt(WORDS.length)];
+        // Mostly whole words, sometimes the prefix a user is still typing
+        return r.nextInt(4) == 0 ? word.substring(0, 1 + r.nextInt(word.length() - 1)) : word;
+    }
+
+    private void reshape(Task t, Random r, long now) {
+        t.setPriority(Priority.values()[pick(priorityWeights, r)]);
+        if (r.nextDouble() >= deadlineShare) return;
+        if (r.nextDouble() >= reminderShare) {
+            t.setDeadlineMinutes(now - deadlineSpreadMinutes + r.nextInt(2 * deadlineSpreadMinutes));
+            return;
+        }
+        int lead = r.nextInt(maxReminderLead + 1);
+        if (r.nextDouble() < soonShare) {
+            t.setDeadlineMinutes(now + 1 + r.nextInt(soonWindowMinutes) + lead);
+        } else {
+            t.setDeadlineMinutes(now - deadlineSpreadMinutes + r.nextInt(2 * deadlineSpreadMinutes));
+        }
+        t.setReminderMinutesBefore(lead);
+    }
+
+    private static int pick(int[] cumulative, Random r) {
+        int x = r.nextInt(cumulative[cumulative.length - 1]);
+        int i = 0;
+        while (cumulative[i] <= x) i++;
+        return i;
+    }
+
+    /** Parses {@code name=weight,...} into cumulative weights in enum order; names left out weigh 0. */
+    private static int[] weights(String spec, Enum<?>[] names) {
+        int[] w = new int[names.length];
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            int i = indexOf(names, kv[0].trim());
+            if (kv.length != 2 || i < 0) throw new IllegalArgumentException("Bad weight '" + part + "' in " + spec);
+            w[i] = Integer.parseInt(kv[1].trim());
+            if (w[i] < 0) throw new IllegalArgumentException("Negative weight in " + spec);
+        }
+        for (int i = 1; i < w.length; i++) w[i] += w[i - 1];
+        if (w[w.length - 1] == 0) throw new IllegalArgumentException("All weights are zero in " + spec);
+        return w;
+    }
+
+    private static int indexOf(Enum<?>[] names, String name) {
+        for (Enum<?> e : names) {
+            if (e.name().equals(name.toUpperCase(Locale.ROOT))) return e.ordinal();
+        }
+        return -1;
+    }
+
+    private static double share(String what, double v) {
+        if (v < 0 || v > 1) throw new IllegalArgumentException("Share of " + what + " must be between 0 and 1: " + v);
+        return v;
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.taskscheduler;
 
+import com.example.taskscheduler.cli.Cli;
 import com.example.taskscheduler.ui.MainFrame;
 import javax.swing.SwingUtilities;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // Headless import/export; see Cli for the commands
+            System.exit(Cli.run(args));
+        }
         SwingUtilities.invokeLater(() -> new MainFrame().setVisible(true));
     }
 }
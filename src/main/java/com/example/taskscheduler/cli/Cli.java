@@ -0,0 +1,175 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.logic.ColumnarTaskStore;
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.logic.TaskQueries;
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Headless entry point for bulk loads and exports, run when the application
+ * is started with arguments. Touches no AWT classes, so it works without a
+ * display. Data goes to stdout when the file is {@code -}; progress and errors
+ * always go to stderr.
+ */
+public class Cli {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage:",
+            "  import <file> [--store <path>] [--format csv|jsonl]",
+            "      Adds the tasks in a CSV or JSON-lines file (or - for stdin) to the store;",
+            "      tasks with an existing id replace it.",
+            "  export <file> [--store <path>] [--format csv|jsonl] [--filter <name>] [--search <query>]",
+            "      Writes tasks in urgency order to a file (or - for stdout). Filters: all, open,",
+            "      completed, overdue, today, upcoming, high.",
+            "",
+            "The store defaults to " + TaskStorage.defaultPath() + "; the format is taken from",
+            "the file extension (.csv, .jsonl) unless --format is given.");
+
+    private final PrintStream log;
+
+    private Cli(PrintStream log) {
+        this.log = log;
+    }
+
+    /** Runs the command and returns the process exit code. */
+    public static int run(String[] args) {
+        return new Cli(System.err).execute(args);
+    }
+
+    private int execute(String[] args) {
+        String command = args[0];
+        if (command.equals("help") || command.equals("--help") || command.equals("-h")) {
+            log.println(USAGE);
+            return 0;
+        }
+        if (args.length < 2 || !(command.equals("import") || command.equals("export"))) {
+            return usage(null);
+        }
+        String file = args[1];
+        Map<String, String> options = new HashMap<>();
+        for (int i = 2; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) return usage("Bad option: " + args[i]);
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        Path store = options.containsKey("store") ? Path.of(options.remove("store")) : TaskStorage.defaultPath();
+        String formatName = options.remove("format");
+        RecordFormat format = formatName != null ? RecordFormat.forName(formatName) : RecordFormat.forPath(file);
+        if (format == null) return usage("Can't tell the format of " + file + "; pass --format csv or --format jsonl");
+        String filter = options.getOrDefault("filter", "all");
+        String query = options.getOrDefault("search", "");
+        options.remove("filter");
+        options.remove("search");
+        if (!options.isEmpty()) return usage("Unknown option: --" + options.keySet().iterator().next());
+        if (command.equals("export") && select(new ColumnarTaskStore(), filter) == null) {
+            return usage("Unknown filter: " + filter);
+        }
+
+        TaskStorage storage = new TaskStorage(store, true);
+        storage.setParallelLoad(true);
+        storage.setLazyDescriptions(TaskStorage.canReplaceMappedFiles());
+        try {
+            if (command.equals("import")) {
+                TaskManager manager = new TaskManager();
+                manager.setAll(storage.load());
+                importTasks(manager, storage, file, format);
+            } else if (query.isBlank()) {
+                // No text index needed, so the loaded tasks are only kept as columns
+                ColumnarTaskStore tasks = new ColumnarTaskStore();
+                tasks.setAll(storage.load());
+                exportTasks(select(tasks, filter), file, format);
+            } else {
+                TaskManager manager = new TaskManager();
+                manager.setAll(storage.load());
+                exportTasks(search(manager, filter, query), file, format);
+            }
+            return 0;
+        } catch (IOException | UncheckedIOException e) {
+            log.println("Error: " + e.getMessage());
+            return 1;
+        } finally {
+            storage.close();
+        }
+    }
+
+    private int usage(String problem) {
+        if (problem != null) log.println(problem);
+        log.println(USAGE);
+        return 2;
+    }
+
+    private void importTasks(TaskManager manager, TaskStorage storage, String file, RecordFormat format) throws IOException {
+        Reader reader = file.equals("-")
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8);
+        try (TaskRecordReader in = format.openReader(reader)) {
+            ImportPipeline pipeline = new ImportPipeline(manager, storage, log);
+            try {
+                pipeline.run(in);
+            } finally {
+                if (pipeline.rejected() > 0) log.printf("%,d rows rejected%n", pipeline.rejected());
+            }
+            log.printf("Store now holds %,d tasks%n", manager.size());
+        }
+    }
+
+    private void exportTasks(List<Task> tasks, String file, RecordFormat format) throws IOException {
+        Writer writer = file.equals("-")
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8);
+        Progress progress = new Progress("Exported", log);
+        long rows = 0;
+        try (TaskRecordWriter out = format.openWriter(writer)) {
+            for (Task t : tasks) {
+                out.write(t);
+                progress.update(++rows);
+            }
+        }
+        progress.finish(rows);
+    }
+
+    /** The same views the main window offers, most urgent first; null for an unknown filter. */
+    private static List<Task> select(TaskQueries tasks, String filter) {
+        LocalDate today = LocalDate.now();
+        switch (filter.toLowerCase(Locale.ROOT)) {
+            case "all":
+                return tasks.getAll();
+            case "open":
+                return tasks.open();
+            case "completed":
+                return tasks.completed();
+            case "overdue":
+                return tasks.overdueAsOf(LocalDateTime.now());
+            case "today":
+                return tasks.dueBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+            case "upcoming":
+                return tasks.dueBetween(today.atStartOfDay(), today.plusDays(8).atStartOfDay());
+            case "high":
+                return tasks.byPriority(Priority.HIGH);
+            default:
+                return null;
+        }
+    }
+
+    /** {@link #select} narrowed to the tasks matching the search query. */
+    private static List<Task> search(TaskManager manager, String filter, String query) {
+        if (filter.equalsIgnoreCase("all")) return manager.search(query);
+        List<Task> candidates = select(manager, filter);
+        Set<TaskId> matches = manager.searchIds(query);
+        if (matches == null) return candidates;
+        List<Task> result = new ArrayList<>();
+        for (Task t : candidates) {
+            if (matches.contains(t.getTaskId())) result.add(t);
+        }
+        return result;
+    }
+}
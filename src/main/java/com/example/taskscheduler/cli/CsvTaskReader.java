@@ -0,0 +1,208 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads tasks from RFC 4180 CSV. The first record is a header naming the
+ * columns (see {@link CsvTaskWriter#COLUMNS}, case-insensitive, any order);
+ * unknown columns are ignored and only {@code title} is required. Quoted
+ * fields may contain commas, doubled quotes and line breaks. Empty fields mean
+ * "not set"; dates use {@code yyyy-MM-dd HH:mm}.
+ */
+class CsvTaskReader implements TaskRecordReader {
+    private static final int ID = 0, TITLE = 1, DESCRIPTION = 2, PRIORITY = 3, DEADLINE = 4,
+            CREATED_AT = 5, COMPLETED = 6, REMINDER = 7, OWNER = 8;
+
+    private final Reader in;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private final int[] columnOf; // record index -> column code, -1 to ignore
+
+    CsvTaskReader(Reader in) throws IOException {
+        this.in = in;
+        if (!readRecord()) {
+            columnOf = new int[0];
+            return;
+        }
+        columnOf = new int[fields.size()];
+        boolean hasTitle = false;
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).trim().toLowerCase(Locale.ROOT);
+            columnOf[i] = -1;
+            for (int c = 0; c < CsvTaskWriter.COLUMNS.length; c++) {
+                if (CsvTaskWriter.COLUMNS[c].toLowerCase(Locale.ROOT).equals(name)) columnOf[i] = c;
+            }
+            hasTitle |= columnOf[i] == TITLE;
+        }
+        if (!hasTitle) {
+            throw new IOException("CSV header has no title column: " + String.join(",", fields));
+        }
+    }
+
+    @Override
+    public Record next() throws IOException {
+        while (readRecord()) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) continue; // blank line
+            return toRecord();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Record toRecord() {
+        Task t = new Task((TaskId) null);
+        String error = null;
+        for (int i = 0; i < fields.size() && i < columnOf.length; i++) {
+            String v = fields.get(i);
+            try {
+                apply(t, columnOf[i], v);
+            } catch (IllegalArgumentException e) {
+                if (error == null) error = e.getMessage();
+            }
+        }
+        if (t.getTaskId() == null) t.setTaskId(TaskId.random());
+        if (t.getCreatedAtMinutes() == DateUtil.NO_TIME) t.setCreatedAt(LocalDateTime.now());
+        if (t.getPriority() == null) t.setPriority(Priority.MEDIUM);
+        return new Record(recordLine, t, error);
+    }
+
+    private static void apply(Task t, int column, String v) {
+        boolean empty = v.isEmpty();
+        switch (column) {
+            case ID:
+                if (!empty) t.setTaskId(TaskId.of(v));
+                break;
+            case TITLE:
+                t.setTitle(v);
+                break;
+            case DESCRIPTION:
+                t.setDescription(empty ? null : v);
+                break;
+            case PRIORITY:
+                t.setPriority(Priority.fromString(v));
+                break;
+            case DEADLINE:
+                t.setDeadlineMinutes(empty ? DateUtil.NO_TIME : parseDate("deadline", v));
+                break;
+            case CREATED_AT:
+                if (!empty) t.setCreatedAtMinutes(parseDate("createdAt", v));
+                break;
+            case COMPLETED:
+                t.setCompleted(!empty && parseBoolean(v));
+                break;
+            case REMINDER:
+                t.setReminderMinutesBefore(empty ? null : parseInt("reminderMinutesBefore", v));
+                break;
+            case OWNER:
+                t.setOwner(empty ? null : v);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static long parseDate(String name, String v) {
+        String s = v.trim();
+        long minutes = DateUtil.parseEpochMinutes(s, 0, s.length());
+        if (minutes != DateUtil.NO_TIME) return minutes;
+        LocalDateTime dt = DateUtil.parseDateTime(s);
+        if (dt == null) throw new IllegalArgumentException("invalid " + name + " \"" + v + "\"");
+        return DateUtil.toEpochMinutes(dt);
+    }
+
+    private static boolean parseBoolean(String v) {
+        switch (v.trim().toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "1": return true;
+            case "false": case "no": case "0": return false;
+            default: throw new IllegalArgumentException("invalid completed \"" + v + "\"");
+        }
+    }
+
+    private static int parseInt(String name, String v) {
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + name + " \"" + v + "\"");
+        }
+    }
+
+    /** Reads the next record into {@link #fields}; false at end of input. */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+        int c = read();
+        if (c == -1) return false;
+        while (true) {
+            if (c == '"' && field.length() == 0) {
+                readQuoted();
+                c = read();
+                if (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    throw new IOException("Unexpected character after closing quote on line " + line);
+                }
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r' && peek() == '\n') pos++;
+                if (c != -1) line++;
+                fields.add(field.toString());
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void readQuoted() throws IOException {
+        long start = line;
+        while (true) {
+            int c = read();
+            if (c == -1) throw new IOException("Unterminated quoted field starting on line " + start);
+            if (c == '"') {
+                if (peek() != '"') return;
+                pos++;
+            } else if (c == '\n') {
+                line++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        pos = 0;
+        limit = Math.max(0, in.read(buf, 0, buf.length));
+        return limit > 0;
+    }
+}
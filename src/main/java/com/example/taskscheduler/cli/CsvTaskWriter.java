@@ -0,0 +1,95 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes tasks as RFC 4180 CSV with a header row. Fields containing commas,
+ * quotes or line breaks are quoted; unset values are left empty.
+ */
+class CsvTaskWriter implements TaskRecordWriter {
+    static final String[] COLUMNS = {
+            "id", "title", "description", "priority", "deadline",
+            "createdAt", "completed", "reminderMinutesBefore", "owner"
+    };
+
+    private final Writer out;
+    private final char[] dateBuf = new char[DateUtil.FORMATTED_LENGTH];
+
+    CsvTaskWriter(Writer out) throws IOException {
+        this.out = out;
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) out.write(',');
+            out.write(COLUMNS[i]);
+        }
+        out.write('\n');
+    }
+
+    @Override
+    public void write(Task t) throws IOException {
+        writeField(t.getId());
+        out.write(',');
+        writeField(t.getTitle());
+        out.write(',');
+        writeField(t.getDescription());
+        out.write(',');
+        out.write(t.getPriority().name());
+        out.write(',');
+        writeDate(t.getDeadlineMinutes());
+        out.write(',');
+        writeDate(t.getCreatedAtMinutes());
+        out.write(',');
+        out.write(t.isCompleted() ? "true" : "false");
+        out.write(',');
+        if (t.getReminderMinutesBefore() != null) out.write(Integer.toString(t.getReminderMinutesBefore()));
+        out.write(',');
+        writeField(t.getOwner());
+        out.write('\n');
+    }
+
+    private void writeDate(long minutes) throws IOException {
+        if (minutes == DateUtil.NO_TIME) return;
+        if (DateUtil.formatEpochMinutes(minutes, dateBuf, 0) < 0) {
+            out.write(DateUtil.formatEpochMinutes(minutes));
+        } else {
+            out.write(dateBuf, 0, DateUtil.FORMATTED_LENGTH);
+        }
+    }
+
+    private void writeField(String s) throws IOException {
+        if (s == null) return;
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(s);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '"') {
+                out.write(s, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.logic.ChangeSet;
+import com.example.taskscheduler.logic.TaskManager;
+import com.example.taskscheduler.model.Task;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams records into a task manager and its storage in three stages, each
+ * on its own thread and connected by bounded queues of batches:
+ * <ol>
+ * <li>parse: reads records from the input and decodes them into tasks;</li>
+ * <li>validate: drops records that failed to decode or break the rules the
+ * task dialog enforces, reporting the first few with their line;</li>
+ * <li>persist (the calling thread): adds each batch with
+ * {@link TaskManager#addAll} and journals its change set.</li>
+ * </ol>
+ * The import only succeeds once every journal write has completed; a failed
+ * write fails the run.
+ * A slow stage blocks the ones before it once its queue is full, so memory
+ * stays bounded whatever the input size. If parsing fails the batches already
+ * persisted stay imported.
+ */
+class ImportPipeline {
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUED_BATCHES = 16;
+    private static final int MAX_REPORTED_REJECTS = 20;
+
+    private static final List<TaskRecordReader.Record> END_OF_RECORDS = new ArrayList<>();
+    private static final List<Task> END_OF_TASKS = new ArrayList<>();
+
+    private final TaskManager manager;
+    private final TaskStorage storage;
+    private final PrintStream log;
+    private final BlockingQueue<List<TaskRecordReader.Record>> parsed = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+    private final BlockingQueue<List<Task>> validated = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile long rejected;
+
+    ImportPipeline(TaskManager manager, TaskStorage storage, PrintStream log) {
+        this.manager = manager;
+        this.storage = storage;
+        this.log = log;
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    /**
+     * Runs all stages to the end of the input; returns the number of tasks
+     * imported, counting a task repeated in one batch once.
+     */
+    long run(TaskRecordReader in) throws IOException {
+        Thread parser = start("TaskImportParse", () -> parse(in), () -> parsed.put(END_OF_RECORDS));
+        Thread validator = start("TaskImportValidate", this::validate, () -> validated.put(END_OF_TASKS));
+        Progress progress = new Progress("Imported", log);
+        long imported = 0;
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        try {
+            while (true) {
+                List<Task> batch = validated.take();
+                if (batch == END_OF_TASKS) break;
+                ChangeSet changes = manager.addAll(batch);
+                writes.add(storage.recordChanges(changes.getChanged(), changes.getDeleted()));
+                imported += changes.getChanged().size();
+                progress.update(imported);
+            }
+            writes.add(storage.flush());
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (CompletionException e) {
+            throw new IOException("Could not write the store", e.getCause());
+        } finally {
+            parser.interrupt();
+            validator.interrupt();
+        }
+        progress.finish(imported);
+        Throwable t = failure.get();
+        if (t instanceof IOException) throw (IOException) t;
+        if (t != null) throw new IOException(t);
+        return imported;
+    }
+
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /** Runs the stage on a daemon thread; if it fails, {@code endOfStream} lets the next stage finish. */
+    private Thread start(String name, Stage stage, Stage endOfStream) {
+        Thread t = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                // Pipeline torn down
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+                try {
+                    endOfStream.run();
+                } catch (Exception ignored) {
+                    // Interrupted while the pipeline is torn down
+                }
+            }
+        }, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private void parse(TaskRecordReader in) throws Exception {
+        List<TaskRecordReader.Record> batch = new ArrayList<>(BATCH_SIZE);
+        TaskRecordReader.Record r;
+        while ((r = in.next()) != null) {
+            batch.add(r);
+            if (batch.size() == BATCH_SIZE) {
+                parsed.put(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) parsed.put(batch);
+        parsed.put(END_OF_RECORDS);
+    }
+
+    private void validate() throws Exception {
+        long rejects = 0;
+        while (true) {
+            List<TaskRecordReader.Record> records = parsed.take();
+            if (records == END_OF_RECORDS) break;
+            List<Task> tasks = new ArrayList<>(records.size());
+            for (TaskRecordReader.Record r : records) {
+                String error = r.error != null ? r.error : check(r.task);
+                if (error == null) {
+                    tasks.add(r.task);
+                    continue;
+                }
+                if (++rejects <= MAX_REPORTED_REJECTS) log.println("Skipping line " + r.line + ": " + error);
+            }
+            rejected = rejects;
+            if (!tasks.isEmpty()) validated.put(tasks);
+        }
+        if (rejects > MAX_REPORTED_REJECTS) {
+            log.println("... " + (rejects - MAX_REPORTED_REJECTS) + " more lines skipped");
+        }
+        validated.put(END_OF_TASKS);
+    }
+
+    /** Same rules as the task dialog; trims the title. Returns null if the task is fine. */
+    private static String check(Task t) {
+        String title = t.getTitle() == null ? "" : t.getTitle().trim();
+        if (title.isEmpty()) return "title is required";
+        if (!title.equals(t.getTitle())) t.setTitle(title);
+        Integer reminder = t.getReminderMinutesBefore();
+        if (reminder != null && reminder < 0) return "reminder minutes must be non-negative";
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.util.JsonTaskReader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads one task object per line. All objects go through a single
+ * {@link JsonTaskReader}, so malformed JSON stops the import with the offset
+ * of the problem rather than skipping a line.
+ */
+class JsonLinesTaskReader implements TaskRecordReader {
+    private final JsonTaskReader in;
+    private long count;
+
+    JsonLinesTaskReader(Reader in) {
+        this.in = new JsonTaskReader(in);
+    }
+
+    @Override
+    public Record next() throws IOException {
+        if (in.atEnd()) return null;
+        return new Record(++count, in.readObject(), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
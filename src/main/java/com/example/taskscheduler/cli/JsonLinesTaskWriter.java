@@ -0,0 +1,32 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.util.JsonTaskWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** Writes one task object per line, in the same shape as the JSON store. */
+class JsonLinesTaskWriter implements TaskRecordWriter {
+    private final JsonTaskWriter out;
+
+    JsonLinesTaskWriter(Writer out) {
+        this.out = new JsonTaskWriter(out);
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        out.writeObject(task);
+        out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskscheduler.cli;
+
+import java.io.PrintStream;
+
+/** Prints a row count and rate at most once a second, and a summary at the end. */
+class Progress {
+    private static final long INTERVAL_NANOS = 1_000_000_000L;
+
+    private final String verb;
+    private final PrintStream out;
+    private final long start = System.nanoTime();
+    private long lastReport = start;
+
+    Progress(String verb, PrintStream out) {
+        this.verb = verb;
+        this.out = out;
+    }
+
+    void update(long rows) {
+        long now = System.nanoTime();
+        if (now - lastReport < INTERVAL_NANOS) return;
+        lastReport = now;
+        out.printf("%s %,d rows (%,.0f rows/s)%n", verb, rows, rate(rows, now));
+    }
+
+    void finish(long rows) {
+        long now = System.nanoTime();
+        out.printf("%s %,d rows in %.2f s (%,.0f rows/s)%n", verb, rows, (now - start) / 1e9, rate(rows, now));
+    }
+
+    private double rate(long rows, long now) {
+        return rows / Math.max(1e-9, (now - start) / 1e9);
+    }
+}
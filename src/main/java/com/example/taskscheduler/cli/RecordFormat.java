@@ -0,0 +1,35 @@
+package com.example.taskscheduler.cli;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Locale;
+
+/** File formats the command line imports and exports. */
+enum RecordFormat {
+    CSV,
+    JSON_LINES;
+
+    /** {@code csv} or {@code jsonl}; null if unknown. */
+    static RecordFormat forName(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "csv": return CSV;
+            case "jsonl": case "ndjson": return JSON_LINES;
+            default: return null;
+        }
+    }
+
+    /** Picks the format from the file extension; null if it has none we know. */
+    static RecordFormat forPath(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? null : forName(path.substring(dot + 1));
+    }
+
+    TaskRecordReader openReader(Reader in) throws IOException {
+        return this == CSV ? new CsvTaskReader(in) : new JsonLinesTaskReader(in);
+    }
+
+    TaskRecordWriter openWriter(Writer out) throws IOException {
+        return this == CSV ? new CsvTaskWriter(out) : new JsonLinesTaskWriter(out);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.model.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/** Reads tasks one record at a time from an import file. */
+interface TaskRecordReader extends Closeable {
+
+    /** One input record: the task it decoded to, or why it could not be decoded. */
+    final class Record {
+        final long line;
+        final Task task;
+        final String error;
+
+        Record(long line, Task task, String error) {
+            this.line = line;
+            this.task = task;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Returns the next record, or null at the end of input. Records with bad
+     * field values come back with an error; input that can't be split into
+     * records at all raises an exception.
+     */
+    Record next() throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.example.taskscheduler.cli;
+
+import com.example.taskscheduler.model.Task;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/** Writes tasks one record at a time to an export file. */
+interface TaskRecordWriter extends Closeable, Flushable {
+
+    void write(Task task) throws IOException;
+}
@@ -0,0 +1,346 @@
+package com.example.taskscheduler.data;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Binary snapshot format.
+ * <pre>
+ * header   magic "STSB", u16 version, u16 reserved, i32 record count, i32 string count
+ * records  fixed {@value #RECORD_SIZE}-byte rows:
+ *          u8 flags, u8 priority weight, u16 reserved, i32 reminder minutes,
+ *          i64 id high bits, i64 id low bits (or string ref for non-UUID ids),
+ *          i64 deadline, i64 createdAt (epoch minutes), i32 title ref, i32 description ref,
+ *          i32 owner ref
+ * strings  i32[string count + 1] byte offsets into the blob, then the UTF-8 blob
+ * </pre>
+ * All values are big-endian. Strings are deduplicated; a ref of -1 means null.
+ * Timestamps keep minute precision, the same as the JSON format. Unpaired
+ * surrogate chars, which UTF-8 can't represent, get the three-byte form of
+ * their code unit (as in WTF-8) so any Java string round-trips; version 1
+ * files wrote them as '?' and read the same way. Versions 1 and 2 have
+ * {@value #V2_RECORD_SIZE}-byte records without the owner ref and read with a
+ * null owner.
+ */
+final class BinaryTaskCodec {
+    static final int MAGIC = 0x53545342; // "STSB"
+    static final int VERSION = 3;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 52;
+    static final int V2_RECORD_SIZE = 48;
+
+    static final int F_COMPLETED = 1;
+    static final int F_DEADLINE = 2;
+    static final int F_REMINDER = 4;
+    static final int F_UUID_ID = 8;
+
+    // Field offsets within a record
+    static final int R_FLAGS = 0;
+    static final int R_PRIORITY = 1;
+    static final int R_REMINDER = 4;
+    static final int R_ID_HI = 8;
+    static final int R_ID_LO = 16;
+    static final int R_DEADLINE = 24;
+    static final int R_CREATED = 32;
+    static final int R_TITLE = 40;
+    static final int R_DESCRIPTION = 44;
+    static final int R_OWNER = 48;
+
+    private BinaryTaskCodec() {
+    }
+
+    static void write(Collection<Task> tasks, WritableByteChannel channel) throws IOException {
+        Map<String, Integer> refs = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int n = tasks.size();
+        int[] titleRefs = new int[n];
+        int[] descRefs = new int[n];
+        int[] idRefs = new int[n];
+        int[] ownerRefs = new int[n];
+        int i = 0;
+        for (Task t : tasks) {
+            titleRefs[i] = ref(t.getTitle(), refs, strings);
+            descRefs[i] = ref(t.getDescription(), refs, strings);
+            idRefs[i] = t.getTaskId().isUuid() ? -1 : ref(t.getId(), refs, strings);
+            ownerRefs[i] = ref(t.getOwner(), refs, strings);
+            i++;
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(0);
+        out.writeInt(n);
+        out.writeInt(strings.size());
+
+        i = 0;
+        for (Task t : tasks) {
+            int flags = 0;
+            if (t.isCompleted()) flags |= F_COMPLETED;
+            if (t.hasDeadline()) flags |= F_DEADLINE;
+            if (t.getReminderMinutesBefore() != null) flags |= F_REMINDER;
+            if (idRefs[i] < 0) flags |= F_UUID_ID;
+            out.writeByte(flags);
+            out.writeByte(t.getPriority().weight());
+            out.writeShort(0);
+            out.writeInt(t.getReminderMinutesBefore() == null ? 0 : t.getReminderMinutesBefore());
+            if (idRefs[i] < 0) {
+                out.writeLong(t.getTaskId().getMostSignificantBits());
+                out.writeLong(t.getTaskId().getLeastSignificantBits());
+            } else {
+                out.writeLong(0);
+                out.writeLong(idRefs[i]);
+            }
+            out.writeLong(t.hasDeadline() ? t.getDeadlineMinutes() : 0);
+            out.writeLong(t.getCreatedAtMinutes());
+            out.writeInt(titleRefs[i]);
+            out.writeInt(descRefs[i]);
+            out.writeInt(ownerRefs[i]);
+            i++;
+        }
+
+        int offset = 0;
+        out.writeInt(offset);
+        for (String s : strings) {
+            offset += utf8Length(s);
+            out.writeInt(offset);
+        }
+        for (String s : strings) {
+            out.write(encode(s));
+        }
+        out.flush();
+    }
+
+    static List<Task> read(ByteBuffer buf) throws IOException {
+        buf.order(ByteOrder.BIG_ENDIAN);
+        int count = checkHeader(buf);
+        int blobStart = checkStrings(buf, count);
+        int recordSize = recordSize(buf);
+        int offsetsStart = HEADER_SIZE + count * recordSize;
+        int stringCount = buf.getInt(12);
+
+        String[] strings = new String[stringCount];
+        byte[] scratch = new byte[256];
+        for (int s = 0; s < stringCount; s++) {
+            int from = buf.getInt(offsetsStart + s * 4);
+            int to = buf.getInt(offsetsStart + (s + 1) * 4);
+            int len = to - from;
+            if (scratch.length < len) scratch = new byte[Math.max(len, scratch.length * 2)];
+            buf.get(blobStart + from, scratch, 0, len);
+            strings[s] = decode(scratch, 0, len);
+        }
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int r = 0; r < count; r++) {
+            int base = HEADER_SIZE + r * recordSize;
+            checkRefs(buf, r, stringCount);
+            Task t = new Task(readId(buf, base, strings));
+            t.setTitle(string(strings, buf.getInt(base + R_TITLE)));
+            t.setDescription(string(strings, buf.getInt(base + R_DESCRIPTION)));
+            t.setOwner(string(strings, ownerRef(buf, base, recordSize)));
+            readFixedFields(buf, base, t);
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    /** Validates the header and returns the record count. */
+    static int checkHeader(ByteBuffer buf) throws IOException {
+        if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary task file");
+        }
+        int version = buf.getShort(4) & 0xFFFF;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary task file version " + version);
+        }
+        int count = buf.getInt(8);
+        if (count < 0 || HEADER_SIZE + (long) count * recordSize(buf) > buf.limit()) {
+            throw new IOException("Truncated binary task file");
+        }
+        return count;
+    }
+
+    /** Record size for the version in the header, which must have been checked. */
+    static int recordSize(ByteBuffer buf) {
+        return (buf.getShort(4) & 0xFFFF) < 3 ? V2_RECORD_SIZE : RECORD_SIZE;
+    }
+
+    /**
+     * Validates the string count and offset table, which must be
+     * non-decreasing and stay inside the blob. Returns where the blob starts.
+     */
+    static int checkStrings(ByteBuffer buf, int count) throws IOException {
+        int stringCount = buf.getInt(12);
+        if (stringCount < 0) throw new IOException("Corrupt binary task file: string count " + stringCount);
+        long offsetsStart = HEADER_SIZE + (long) count * recordSize(buf);
+        long blobStart = offsetsStart + ((long) stringCount + 1) * 4;
+        if (blobStart > buf.limit()) throw new IOException("Truncated binary task file: string table cut off");
+        long blobLength = buf.limit() - blobStart;
+        int previous = 0;
+        for (int s = 0; s <= stringCount; s++) {
+            int offset = buf.getInt((int) offsetsStart + s * 4);
+            if (offset < previous || offset > blobLength) {
+                throw new IOException("Corrupt binary task file: string " + s + " offset " + offset
+                        + " outside " + previous + ".." + blobLength);
+            }
+            previous = offset;
+        }
+        return (int) blobStart;
+    }
+
+    /** Checks that the string refs of record {@code r} are -1 or name a string. */
+    static void checkRefs(ByteBuffer buf, int r, int stringCount) throws IOException {
+        int recordSize = recordSize(buf);
+        int base = HEADER_SIZE + r * recordSize;
+        checkRef(buf.getInt(base + R_TITLE), r, stringCount);
+        checkRef(buf.getInt(base + R_DESCRIPTION), r, stringCount);
+        checkRef(ownerRef(buf, base, recordSize), r, stringCount);
+        if ((buf.get(base + R_FLAGS) & F_UUID_ID) == 0) {
+            long id = buf.getLong(base + R_ID_LO);
+            if (id < 0 || id >= stringCount) {
+                throw new IOException("Corrupt binary task file: record " + r + " has id ref " + id);
+            }
+        }
+    }
+
+    private static void checkRef(int ref, int r, int stringCount) throws IOException {
+        if (ref < -1 || ref >= stringCount) {
+            throw new IOException("Corrupt binary task file: record " + r + " has string ref " + ref);
+        }
+    }
+
+    /** Returns the owner ref of the record at {@code base}, -1 in files from before owners. */
+    static int ownerRef(ByteBuffer buf, int base, int recordSize) {
+        return recordSize > R_OWNER ? buf.getInt(base + R_OWNER) : -1;
+    }
+
+    /** Decodes the id for the record at {@code base}; {@code strings} resolves non-UUID ids. */
+    static TaskId readId(ByteBuffer buf, int base, String[] strings) {
+        if ((buf.get(base + R_FLAGS) & F_UUID_ID) != 0) {
+            return new TaskId(buf.getLong(base + R_ID_HI), buf.getLong(base + R_ID_LO));
+        }
+        return TaskId.of(strings[(int) buf.getLong(base + R_ID_LO)]);
+    }
+
+    /** Decodes everything except id, title and description. */
+    static void readFixedFields(ByteBuffer buf, int base, Task t) {
+        int flags = buf.get(base + R_FLAGS);
+        t.setPriority(Priority.fromWeight(buf.get(base + R_PRIORITY)));
+        t.setCompleted((flags & F_COMPLETED) != 0);
+        t.setReminderMinutesBefore((flags & F_REMINDER) != 0 ? buf.getInt(base + R_REMINDER) : null);
+        t.setDeadlineMinutes((flags & F_DEADLINE) != 0 ? buf.getLong(base + R_DEADLINE) : DateUtil.NO_TIME);
+        t.setCreatedAtMinutes(buf.getLong(base + R_CREATED));
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref < 0 ? null : strings[ref];
+    }
+
+    private static int ref(String s, Map<String, Integer> refs, List<String> strings) {
+        if (s == null) return -1;
+        Integer r = refs.get(s);
+        if (r == null) {
+            r = strings.size();
+            refs.put(s, r);
+            strings.add(s);
+        }
+        return r;
+    }
+
+    /** UTF-8, with the three-byte form for unpaired surrogates. */
+    static byte[] encode(String s) {
+        if (!hasUnpairedSurrogate(s)) return s.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[utf8Length(s)];
+        int pos = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | c >> 6);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                out[pos++] = (byte) (0xF0 | cp >> 18);
+                out[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                out[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                out[pos++] = (byte) (0xE0 | c >> 12);
+                out[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Inverse of {@link #encode}. An encoded surrogate is the only sequence
+     * starting 0xED 0xA0..0xBF, which well-formed UTF-8 never contains, so the
+     * text between them is decoded as ordinary UTF-8.
+     */
+    static String decode(byte[] b, int off, int len) {
+        int end = off + len;
+        int at = nextSurrogate(b, off, end);
+        if (at < 0) return new String(b, off, len, StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(len);
+        int from = off;
+        while (at >= 0) {
+            sb.append(new String(b, from, at - from, StandardCharsets.UTF_8));
+            sb.append((char) ((b[at] & 0x0F) << 12 | (b[at + 1] & 0x3F) << 6 | b[at + 2] & 0x3F));
+            from = at + 3;
+            at = nextSurrogate(b, from, end);
+        }
+        return sb.append(new String(b, from, end - from, StandardCharsets.UTF_8)).toString();
+    }
+
+    private static int nextSurrogate(byte[] b, int from, int end) {
+        for (int i = from; i + 2 < end; i++) {
+            if (b[i] == (byte) 0xED && (b[i + 1] & 0xE0) == 0xA0) return i;
+        }
+        return -1;
+    }
+
+    private static boolean hasUnpairedSurrogate(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (!Character.isSurrogate(c)) continue;
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                i++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int utf8Length(String s) {
+        int len = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                len++;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                len += 4;
+                i++;
+            } else {
+                len += 3;
+            }
+        }
+        return len;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.taskscheduler.data;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a binary snapshot (see {@link BinaryTaskCodec}) through a
+ * memory-mapped buffer. The fixed-width record table and the string offset
+ * table in the file already serve as the index, so opening only validates the
+ * header, the offset table and the string refs. Tasks are decoded with their
+ * title, priority, deadline and other fixed fields, while descriptions stay in
+ * the mapping until {@link Task#getDescription()} is first called.
+ * <p>
+ * Each task holds the archive only until its description is read or set, so
+ * the archive, and with it the mapping, becomes unreachable once every task
+ * decoded from it has its description or has been discarded; the garbage
+ * collector then unmaps the file. Until then the mapping keeps the file's
+ * blocks allocated even if the file is replaced, which is why
+ * {@link TaskStorage} reads the remaining descriptions before it overwrites a
+ * snapshot it mapped. Files are limited to 2 GB.
+ */
+public class MappedTaskArchive {
+    private final MappedByteBuffer buf;
+    private final int count;
+    private final int recordSize;
+    private final int offsetsStart;
+    private final int blobStart;
+    // Decoded strings by ref, filled on first use so repeated titles stay shared
+    private final String[] strings;
+
+    private MappedTaskArchive(MappedByteBuffer buf) throws IOException {
+        this.buf = buf;
+        buf.order(ByteOrder.BIG_ENDIAN);
+        this.count = BinaryTaskCodec.checkHeader(buf);
+        this.blobStart = BinaryTaskCodec.checkStrings(buf, count);
+        this.recordSize = BinaryTaskCodec.recordSize(buf);
+        this.offsetsStart = BinaryTaskCodec.HEADER_SIZE + count * recordSize;
+        int stringCount = buf.getInt(12);
+        for (int r = 0; r < count; r++) {
+            BinaryTaskCodec.checkRefs(buf, r, stringCount);
+        }
+        this.strings = new String[stringCount];
+    }
+
+    public static MappedTaskArchive open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Binary task file too large: " + path);
+            return new MappedTaskArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Decodes the task at the given record index; its description is loaded lazily. */
+    public Task get(int index) {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException(index);
+        int base = BinaryTaskCodec.HEADER_SIZE + index * recordSize;
+        TaskId id;
+        if ((buf.get(base + BinaryTaskCodec.R_FLAGS) & BinaryTaskCodec.F_UUID_ID) != 0) {
+            id = BinaryTaskCodec.readId(buf, base, null);
+        } else {
+            id = TaskId.of(string((int) buf.getLong(base + BinaryTaskCodec.R_ID_LO)));
+        }
+        ArchivedTask t = new ArchivedTask(id, this, buf.getInt(base + BinaryTaskCodec.R_DESCRIPTION));
+        t.setTitle(string(buf.getInt(base + BinaryTaskCodec.R_TITLE)));
+        t.setOwner(string(BinaryTaskCodec.ownerRef(buf, base, recordSize)));
+        BinaryTaskCodec.readFixedFields(buf, base, t);
+        return t;
+    }
+
+    public List<Task> tasks() {
+        List<Task> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    private String string(int ref) {
+        if (ref < 0) return null;
+        String s = strings[ref];
+        if (s == null) {
+            int from = buf.getInt(offsetsStart + ref * 4);
+            int to = buf.getInt(offsetsStart + (ref + 1) * 4);
+            byte[] bytes = new byte[to - from];
+            buf.get(blobStart + from, bytes);
+            s = BinaryTaskCodec.decode(bytes, 0, bytes.length);
+            strings[ref] = s;
+        }
+        return s;
+    }
+
+    /** Decodes a string without caching it, for values that are rarely shared. */
+    private String uncachedString(int ref) {
+        if (ref < 0) return null;
+        String s = strings[ref];
+        if (s != null) return s;
+        int from = buf.getInt(offsetsStart + ref * 4);
+        int to = buf.getInt(offsetsStart + (ref + 1) * 4);
+        byte[] bytes = new byte[to - from];
+        buf.get(blobStart + from, bytes);
+        return BinaryTaskCodec.decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Keeps the description in its own field rather than in {@link Task}'s, so
+     * decoding it is not a change: the task's version stays put and views that
+     * cache by version don't repaint. Any thread may read first, so the field
+     * is published with a compare-and-set that also lets an explicit
+     * {@link #setDescription} win over a decode racing with it.
+     */
+    private static final class ArchivedTask extends Task {
+        private static final Object UNREAD = new Object();
+        private static final VarHandle DESCRIPTION;
+
+        static {
+            try {
+                DESCRIPTION = MethodHandles.lookup().findVarHandle(ArchivedTask.class, "description", Object.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final int descriptionRef;
+        private volatile Object description = UNREAD;
+        // Cleared once the description is known, after the field is written
+        private volatile MappedTaskArchive archive;
+
+        ArchivedTask(TaskId id, MappedTaskArchive archive, int descriptionRef) {
+            super(id);
+            this.archive = archive;
+            this.descriptionRef = descriptionRef;
+        }
+
+        @Override
+        public String getDescription() {
+            Object d = description;
+            if (d == UNREAD) {
+                MappedTaskArchive a = archive;
+                // Null only after another thread resolved the description
+                if (a == null) return (String) description;
+                String decoded = a.uncachedString(descriptionRef);
+                d = DESCRIPTION.compareAndExchange(this, UNREAD, decoded);
+                if (d == UNREAD) d = decoded;
+                archive = null;
+            }
+            return (String) d;
+        }
+
+        @Override
+        public boolean isDescriptionLoaded() {
+            return description != UNREAD;
+        }
+
+        @Override
+        public void setDescription(String description) {
+            this.description = description;
+            archive = null;
+            super.setDescription(description);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.taskscheduler.data;
+
+import java.nio.file.Path;
+
+public enum StorageFormat {
+    JSON,
+    BINARY;
+
+    /** Files ending in {@code .bin} use the binary snapshot format, anything else JSON. */
+    public static StorageFormat forPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return name.endsWith(".bin") ? BINARY : JSON;
+    }
+}
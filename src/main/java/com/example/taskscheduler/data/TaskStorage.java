@@ -1,42 +1,668 @@
 package com.example.taskscheduler.data;
 
-import com.example.taskscheduler.model.Priority;
 import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.JsonParseException;
+import com.example.taskscheduler.util.JsonTaskReader;
+import com.example.taskscheduler.util.JsonTaskWriter;
 import com.example.taskscheduler.util.JsonUtil;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Persists tasks to a snapshot file, either JSON or the compact binary format
+ * (see {@link StorageFormat}).
+ * <p>
+ * All writes go through a single background writer thread. Requests that pile
+ * up while a commit is running are written together as one group commit: only
+ * the latest full snapshot in a batch is written, and journal records are
+ * appended with a single flush. Snapshots are written to a temp file, forced to
+ * disk and atomically moved over the old file, so a crash never leaves a
+ * half-written store. Journal appends are forced on the configured sync interval
+ * or when {@link #flush()} is called.
+ * <p>
+ * In journaled mode every add, update and delete is appended as one line to a
+ * {@code .journal} file next to the snapshot (a {@code +} or {@code -} tag
+ * followed by a JSON object), so a single edit costs O(1) I/O. {@link #load()}
+ * replays the journal over the snapshot. Once the journal grows past the
+ * compaction threshold it is rotated to {@code .journal.compacting} and folded
+ * into a fresh snapshot on a background thread.
+ */
 public class TaskStorage {
+    private static final char PUT = '+';
+    private static final char DELETE = '-';
+    private static final char CHANGES = '*'; // a batch of PUT and DELETE records
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 4L * 1024 * 1024;
+    private static final long DEFAULT_PARALLEL_LOAD_THRESHOLD = 16L * 1024 * 1024;
+
+    private static final class Op {
+        final char tag; // PUT, DELETE or CHANGES for journal records, 0 otherwise
+        final Task task;
+        final TaskId id;
+        final List<Task> puts; // for CHANGES
+        final List<TaskId> deletes; // for CHANGES
+        final List<Task> snapshot;
+        final boolean sync;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Op(char tag, Task task, TaskId id, List<Task> snapshot, boolean sync) {
+            this.tag = tag;
+            this.task = task;
+            this.id = id;
+            this.puts = null;
+            this.deletes = null;
+            this.snapshot = snapshot;
+            this.sync = sync;
+        }
+
+        Op(List<Task> puts, List<TaskId> deletes) {
+            this.tag = CHANGES;
+            this.task = null;
+            this.id = null;
+            this.puts = puts;
+            this.deletes = deletes;
+            this.snapshot = null;
+            this.sync = false;
+        }
+    }
+
     private final Path filePath;
+    private final boolean journaled;
+    private final StorageFormat format;
+    private final Path journalPath;
+    private final Path compactingPath;
+    // Held while the snapshot file is read or replaced.
+    private final Object snapshotLock = new Object();
+    // Tasks load() decoded from a mapped snapshot; guarded by snapshotLock
+    private List<Task> mappedTasks;
+
+    private volatile long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private volatile long syncIntervalNanos;
+    private volatile boolean compacting;
+    private volatile boolean lazyDescriptions;
+    private volatile boolean parallelLoad;
+    private volatile long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_THRESHOLD;
+    // Set when load() could not read the store; writes are refused until it is moved aside
+    private volatile boolean unreadable;
+
+    // Guarded by this
+    private List<Op> pending = new ArrayList<>();
+    private Thread writer;
+    private boolean closed;
+    private ExecutorService compactor;
+
+    // Owned by the writer thread
+    private FileChannel journalChannel;
+    private JsonTaskWriter journal;
+    private boolean unsynced;
+    private long lastSync = System.nanoTime();
+    // Journal length covered by completed batches; a failed batch is cut back to it
+    private long journalCommitted;
+    private boolean journalTorn;
+
+    /**
+     * The store the desktop app and the command line use unless told otherwise: the
+     * {@code taskscheduler.store} system property, or tasks.json in the home directory.
+     */
+    public static Path defaultPath() {
+        String path = System.getProperty("taskscheduler.store");
+        if (path != null && !path.isEmpty()) return Path.of(path);
+        return Path.of(System.getProperty("user.home"), ".smart-task-scheduler", "tasks.json");
+    }
 
     public TaskStorage(Path filePath) {
+        this(filePath, false);
+    }
+
+    public TaskStorage(Path filePath, boolean journaled) {
+        this(filePath, journaled, StorageFormat.forPath(filePath));
+    }
+
+    public TaskStorage(Path filePath, boolean journaled, StorageFormat format) {
         this.filePath = filePath;
+        this.journaled = journaled;
+        this.format = format;
+        this.journalPath = filePath.resolveSibling(filePath.getFileName() + ".journal");
+        this.compactingPath = filePath.resolveSibling(filePath.getFileName() + ".journal.compacting");
+    }
+
+    /** Journal size in bytes after which it is folded back into the snapshot. */
+    public void setCompactionThreshold(long bytes) {
+        this.compactionThreshold = bytes;
     }
 
+    /**
+     * How often appended journal records are forced to disk. {@link Duration#ZERO}
+     * (the default) forces after every commit.
+     */
+    public void setSyncInterval(Duration interval) {
+        this.syncIntervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Whether a snapshot can be replaced while a mapping of it is open, which
+     * {@link #setLazyDescriptions lazy descriptions} rely on. Not on Windows.
+     */
+    public static boolean canReplaceMappedFiles() {
+        return !System.getProperty("os.name", "").startsWith("Windows");
+    }
+
+    /**
+     * When enabled, binary snapshots are loaded through a {@link MappedTaskArchive}
+     * so descriptions are only decoded when a task's description is read. Has no
+     * effect on JSON snapshots. Descriptions still unread when the snapshot is
+     * next rewritten are decoded first, so the loaded tasks stop referring to
+     * the old file; the mapping itself is only dropped by the garbage collector,
+     * so leave this off where {@link #canReplaceMappedFiles()} is false.
+     */
+    public void setLazyDescriptions(boolean lazy) {
+        this.lazyDescriptions = lazy;
+    }
+
+    /**
+     * When enabled, JSON snapshots of at least the
+     * {@link #setParallelLoadThreshold threshold} are read into memory whole and
+     * parsed in chunks on the common fork-join pool, which costs about three
+     * times the file's size in heap during the load. Smaller files are still
+     * streamed, as are all files on a single CPU and files too big for a quarter
+     * of the heap. Has no effect on binary snapshots.
+     */
+    public void setParallelLoad(boolean parallel) {
+        this.parallelLoad = parallel;
+    }
+
+    /** Smallest JSON snapshot, in bytes, that is parsed in parallel; 16 MB by default. */
+    public void setParallelLoadThreshold(long bytes) {
+        this.parallelLoadThreshold = bytes;
+    }
+
+    /**
+     * Reads the snapshot and replays the journal over it. If the snapshot can't
+     * be read this throws, and the storage refuses all writes so the file is
+     * never replaced with an empty list, until {@link #moveAsideUnreadable()}
+     * is called.
+     */
     public List<Task> load() {
+        List<Task> tasks;
+        boolean clean = true;
         try {
-            if (!Files.exists(filePath)) return new ArrayList<>();
-            String json = Files.readString(filePath);
-            return JsonUtil.parseTasks(json);
+            synchronized (snapshotLock) {
+                List<Task> snapshot = readSnapshot();
+                mappedTasks = lazyDescriptions && format == StorageFormat.BINARY ? snapshot : null;
+                if (!journaled) return snapshot;
+                Map<TaskId, Task> state = byId(snapshot);
+                clean = replay(compactingPath, state);
+                clean &= replay(journalPath, state);
+                tasks = new ArrayList<>(state.values());
+            }
         } catch (IOException e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+            unreadable = true;
+            throw new UncheckedIOException("Could not read " + filePath + ": " + e.getMessage(), e);
+        }
+        unreadable = false;
+        if (!clean) {
+            // Fold what could be read so later appends don't land after a torn record
+            save(tasks);
         }
+        return tasks;
     }
 
+    /**
+     * Renames the snapshot and journals that {@link #load()} failed on to
+     * {@code .corrupt} files, so the store can start over empty without losing
+     * them, and allows writes again. Returns the new name of the snapshot, or
+     * null if there was none.
+     */
+    public Path moveAsideUnreadable() throws IOException {
+        synchronized (snapshotLock) {
+            Path moved = null;
+            for (Path p : Arrays.asList(filePath, journalPath, compactingPath)) {
+                if (!Files.exists(p)) continue;
+                Path target = p.resolveSibling(p.getFileName() + ".corrupt");
+                for (int i = 1; Files.exists(target); i++) {
+                    target = p.resolveSibling(p.getFileName() + ".corrupt." + i);
+                }
+                Files.move(p, target);
+                if (p == filePath) moved = target;
+            }
+            unreadable = false;
+            return moved;
+        }
+    }
+
+    /** Writes a full snapshot and waits for it to reach the disk. */
     public void save(List<Task> tasks) {
         try {
-            if (!Files.exists(filePath.getParent())) {
-                Files.createDirectories(filePath.getParent());
+            saveAsync(tasks).join();
+        } catch (CompletionException e) {
+            // Already reported by the writer thread
+        }
+    }
+
+    /**
+     * Queues a full snapshot. If several snapshots are queued before the writer
+     * gets to them only the latest is written. In journaled mode the journal is
+     * cleared once the snapshot is in place.
+     */
+    public CompletableFuture<Void> saveAsync(List<Task> tasks) {
+        return enqueue(new Op((char) 0, null, null, new ArrayList<>(tasks), false));
+    }
+
+    public CompletableFuture<Void> recordAdd(Task task) {
+        return enqueue(new Op(PUT, task, null, null, false));
+    }
+
+    public CompletableFuture<Void> recordUpdate(Task task) {
+        return enqueue(new Op(PUT, task, null, null, false));
+    }
+
+    public CompletableFuture<Void> recordDelete(String id) {
+        return recordDelete(TaskId.of(id));
+    }
+
+    public CompletableFuture<Void> recordDelete(TaskId id) {
+        return enqueue(new Op(DELETE, null, id, null, false));
+    }
+
+    /**
+     * Journals a bulk change as one write request: a PUT record per changed task
+     * and a DELETE record per deleted id, appended and flushed together.
+     */
+    public CompletableFuture<Void> recordChanges(Collection<Task> changed, Collection<TaskId> deleted) {
+        return enqueue(new Op(new ArrayList<>(changed), new ArrayList<>(deleted)));
+    }
+
+    /** Completes once everything queued so far has been written and forced to disk. */
+    public CompletableFuture<Void> flush() {
+        return enqueue(new Op((char) 0, null, null, null, true));
+    }
+
+    /**
+     * Stops accepting writes, waits for queued commits to finish and for a running
+     * compaction to complete.
+     */
+    public void close() {
+        Thread w;
+        synchronized (this) {
+            closed = true;
+            w = writer;
+            notifyAll();
+        }
+        if (w != null) {
+            try {
+                w.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        ExecutorService c;
+        synchronized (this) {
+            c = compactor;
+            compactor = null;
+        }
+        if (c != null) {
+            c.shutdown();
+            try {
+                c.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized CompletableFuture<Void> enqueue(Op op) {
+        if (op.tag != 0 && !journaled) {
+            throw new IllegalStateException("Storage is not journaled: " + filePath);
+        }
+        if (closed) {
+            op.done.completeExceptionally(new IllegalStateException("Storage is closed: " + filePath));
+            return op.done;
+        }
+        if (unreadable) {
+            op.done.completeExceptionally(new IllegalStateException("Not writing over unreadable store: " + filePath));
+            return op.done;
+        }
+        pending.add(op);
+        if (writer == null) {
+            writer = new Thread(this::runWriter, "TaskStorageWriter");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        notifyAll();
+        return op.done;
+    }
+
+    private void runWriter() {
+        while (true) {
+            List<Op> batch;
+            synchronized (this) {
+                try {
+                    while (pending.isEmpty() && !closed && !syncDue()) {
+                        long waitMs = unsynced
+                                ? Math.max(1, (syncIntervalNanos - (System.nanoTime() - lastSync)) / 1_000_000)
+                                : 0;
+                        wait(waitMs);
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (pending.isEmpty() && closed) break;
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            commit(batch);
+        }
+        try {
+            if (unsynced) syncJournal();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        closeJournal();
+    }
+
+    private boolean syncDue() {
+        return unsynced && System.nanoTime() - lastSync >= syncIntervalNanos;
+    }
+
+    private void commit(List<Op> batch) {
+        Op snapshot = null;
+        int first = 0;
+        boolean forceSync = false;
+        for (int i = 0; i < batch.size(); i++) {
+            Op op = batch.get(i);
+            if (op.snapshot != null) {
+                // Earlier records in the batch are already reflected in this snapshot
+                snapshot = op;
+                first = i + 1;
+            }
+            forceSync |= op.sync;
+        }
+        try {
+            if (snapshot != null) {
+                synchronized (snapshotLock) {
+                    closeJournal();
+                    writeSnapshot(snapshot.snapshot);
+                    if (journaled) {
+                        Files.deleteIfExists(compactingPath);
+                        Files.deleteIfExists(journalPath);
+                        journalCommitted = 0;
+                        journalTorn = false;
+                    }
+                }
+                unsynced = false;
+            }
+            boolean wrote = false;
+            for (int i = first; i < batch.size(); i++) {
+                Op op = batch.get(i);
+                if (op.tag == 0) continue;
+                if (journal == null) openJournal();
+                if (op.tag == CHANGES) {
+                    for (TaskId id : op.deletes) {
+                        writeRecord(DELETE, null, id);
+                    }
+                    for (Task t : op.puts) {
+                        writeRecord(PUT, t, null);
+                    }
+                } else {
+                    writeRecord(op.tag, op.task, op.id);
+                }
+                wrote = true;
+            }
+            if (wrote) {
+                journal.flush();
+                unsynced = true;
+            }
+            if (unsynced && (forceSync || syncDue())) syncJournal();
+            if (wrote) {
+                journalCommitted = journalChannel.size();
+                maybeCompact();
+            }
+            for (Op op : batch) {
+                op.done.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            abandonJournal();
+            for (Op op : batch) {
+                op.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Drops the journal writer after a failed batch without flushing what it
+     * still buffers. The file may end in a partial record, and replay stops at
+     * the first unreadable record, so nothing may be appended after it:
+     * {@link #openJournal()} first cuts the file back to the last completed batch.
+     */
+    private void abandonJournal() {
+        if (journalChannel != null) {
+            try {
+                journalChannel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        journal = null;
+        journalChannel = null;
+        journalTorn = true;
+        unsynced = false;
+    }
+
+    private void writeRecord(char tag, Task task, TaskId id) throws IOException {
+        journal.write(tag);
+        if (task != null) {
+            journal.writeObject(task);
+        } else {
+            journal.writeIdObject(id);
+        }
+        journal.write('\n');
+    }
+
+    private void syncJournal() throws IOException {
+        if (journalChannel != null) journalChannel.force(false);
+        unsynced = false;
+        lastSync = System.nanoTime();
+    }
+
+    private void maybeCompact() throws IOException {
+        if (compacting || journalChannel.size() < compactionThreshold) return;
+        compacting = true;
+        syncJournal();
+        closeJournal();
+        // A leftover file from an interrupted compaction is folded first
+        if (!Files.exists(compactingPath)) {
+            Files.move(journalPath, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+            journalCommitted = 0;
+        }
+        compactorExecutor().execute(this::fold);
+    }
+
+    private void fold() {
+        try {
+            synchronized (snapshotLock) {
+                Map<TaskId, Task> state = byId(readSnapshot());
+                replay(compactingPath, state);
+                writeSnapshot(state.values());
+                Files.deleteIfExists(compactingPath);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            compacting = false;
+        }
+    }
+
+    private List<Task> readSnapshot() throws IOException {
+        if (lazyDescriptions && format == StorageFormat.BINARY && Files.exists(filePath)) {
+            return MappedTaskArchive.open(filePath).tasks();
+        }
+        if (parallelLoad && format == StorageFormat.JSON && worthParsingInParallel()) {
+            return readParallel(filePath);
+        }
+        return read(filePath, format);
+    }
+
+    private boolean worthParsingInParallel() throws IOException {
+        if (Runtime.getRuntime().availableProcessors() < 2 || !Files.exists(filePath)) return false;
+        long size = Files.size(filePath);
+        return size >= parallelLoadThreshold && size * 3 <= Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    private void writeSnapshot(Collection<Task> tasks) throws IOException {
+        if (mappedTasks != null) {
+            // Tasks still reading descriptions from the old file would keep it mapped
+            for (Task t : mappedTasks) {
+                t.getDescription();
+            }
+            mappedTasks = null;
+        }
+        write(tasks, filePath, format);
+    }
+
+    /**
+     * Rewrites a snapshot in another format, e.g. {@code tasks.json} to
+     * {@code tasks.bin}. Formats are picked from the file extensions. Journals
+     * are not read, so fold them first by saving through a journaled storage.
+     */
+    public static void convert(Path from, Path to) throws IOException {
+        write(read(from, StorageFormat.forPath(from)), to, StorageFormat.forPath(to));
+    }
+
+    private static List<Task> read(Path path, StorageFormat format) throws IOException {
+        if (!Files.exists(path)) return new ArrayList<>();
+        if (format == StorageFormat.BINARY) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) throw new IOException("Binary task file too large: " + path);
+                ByteBuffer buf = ByteBuffer.allocate((int) size);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                    // keep reading
+                }
+                buf.flip();
+                return BinaryTaskCodec.read(buf);
             }
-            String json = JsonUtil.toJson(tasks);
-            Files.writeString(filePath, json, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return JsonUtil.parseTasks(reader);
+        }
+    }
+
+    private static List<Task> readParallel(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) > Integer.MAX_VALUE) {
+            return read(path, StorageFormat.JSON);
+        }
+        CharBuffer chars = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+        return JsonUtil.parseTasksParallel(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+    }
+
+    /** Writes to a temp file and moves it over the target so readers never see a partial file. */
+    private static void write(Collection<Task> tasks, Path path, StorageFormat format) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (!Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (format == StorageFormat.BINARY) {
+                BinaryTaskCodec.write(tasks, channel);
+            } else {
+                JsonUtil.writeTasks(tasks, channel);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Applies the journal records in order. Returns false if a malformed record
+     * (typically a write torn by a crash) stopped the replay early.
+     */
+    private boolean replay(Path journalFile, Map<TaskId, Task> state) throws IOException {
+        if (!Files.exists(journalFile)) return true;
+        try (Reader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            JsonTaskReader in = new JsonTaskReader(reader);
+            int tag;
+            while ((tag = in.readTag()) != -1) {
+                if (tag != PUT && tag != DELETE) {
+                    System.err.println("Discarding tail of " + journalFile + ": unknown record '" + (char) tag + "'");
+                    return false;
+                }
+                Task t = in.readObject();
+                if (tag == PUT) {
+                    state.put(t.getTaskId(), t);
+                } else {
+                    state.remove(t.getTaskId());
+                }
+            }
+            return true;
+        } catch (JsonParseException e) {
+            System.err.println("Discarding unreadable tail of " + journalFile + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void openJournal() throws IOException {
+        if (!Files.exists(filePath.getParent())) {
+            Files.createDirectories(filePath.getParent());
+        }
+        if (journalTorn && Files.exists(journalPath)) {
+            try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+                channel.truncate(journalCommitted);
+                channel.force(false);
+            }
+        }
+        journalTorn = false;
+        journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        journalCommitted = journalChannel.size();
+        journal = new JsonTaskWriter(Channels.newWriter(journalChannel, StandardCharsets.UTF_8));
+    }
+
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
+        journal = null;
+        journalChannel = null;
+    }
+
+    private synchronized ExecutorService compactorExecutor() {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "TaskStorageCompactor");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return compactor;
+    }
+
+    private static Map<TaskId, Task> byId(List<Task> tasks) {
+        Map<TaskId, Task> map = new LinkedHashMap<>();
+        for (Task t : tasks) {
+            map.put(t.getTaskId(), t);
+        }
+        return map;
     }
 }
@@ -0,0 +1,39 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a bulk mutation of a {@link TaskManager} did: the tasks it stored (added
+ * or updated, as they are now held) and the ids it removed. Hand it to
+ * {@link ReminderService#apply} and {@code TaskStorage.recordChanges} to bring
+ * reminders and storage up to date in one step each.
+ */
+public final class ChangeSet {
+    private final List<Task> changed;
+    private final List<TaskId> deleted;
+
+    ChangeSet(List<Task> changed, List<TaskId> deleted) {
+        this.changed = Collections.unmodifiableList(changed);
+        this.deleted = Collections.unmodifiableList(deleted);
+    }
+
+    public List<Task> getChanged() {
+        return changed;
+    }
+
+    public List<TaskId> getDeleted() {
+        return deleted;
+    }
+
+    public boolean isEmpty() {
+        return changed.isEmpty() && deleted.isEmpty();
+    }
+
+    public int size() {
+        return changed.size() + deleted.size();
+    }
+}
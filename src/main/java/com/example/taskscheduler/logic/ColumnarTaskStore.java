@@ -0,0 +1,331 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+import com.example.taskscheduler.util.TaskIdIntMap;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Struct-of-arrays task store with the same query API as {@link TaskManager},
+ * for workloads with millions of tasks.
+ * <p>
+ * Each task occupies an int slot. Its fields live in parallel columns: epoch
+ * minutes in {@code long[]}s, the priority weight in a {@code byte[]}, the
+ * completed flag in a {@link BitSet} and the reminder lead in an {@code int[]}
+ * with {@link #NO_REMINDER} for none; ids are kept as the two longs of their
+ * {@link TaskId}. Filters scan the columns and sorts compare slots on the
+ * primitive values, so no per-task objects exist apart from titles,
+ * descriptions and owners. {@link Task} objects are only built for query results, as
+ * detached copies; changes are written back with {@link #update(Task)}.
+ * Freed slots are reused and ids map to slots through a {@link TaskIdIntMap},
+ * so the index holds no boxed values either. There is no full-text index; use
+ * {@link TaskManager} for search.
+ * <p>
+ * Because results are copies, edits to them go nowhere until written back,
+ * which suits one-shot bulk work such as the command line export rather than
+ * the main window, whose tasks are edited in place.
+ */
+public class ColumnarTaskStore implements TaskQueries {
+    static final int NO_REMINDER = Integer.MIN_VALUE;
+
+    private long[] idHi = new long[16];
+    private long[] idLo = new long[16];
+    private TaskId[] rawIds = new TaskId[16]; // only for ids that are not UUIDs
+    private String[] titles = new String[16];
+    private String[] descriptions = new String[16];
+    private String[] owners = new String[16];
+    private long[] deadlines = new long[16];
+    private long[] created = new long[16];
+    private byte[] priorities = new byte[16];
+    private int[] reminders = new int[16];
+    private final BitSet completed = new BitSet();
+    private final BitSet live = new BitSet();
+
+    private final TaskIdIntMap slotById = new TaskIdIntMap();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int highWater; // slots [0, highWater) have been handed out at least once
+
+    public synchronized void setAll(Collection<Task> tasks) {
+        Arrays.fill(rawIds, 0, highWater, null);
+        Arrays.fill(titles, 0, highWater, null);
+        Arrays.fill(descriptions, 0, highWater, null);
+        Arrays.fill(owners, 0, highWater, null);
+        completed.clear();
+        live.clear();
+        slotById.clear();
+        freeCount = 0;
+        highWater = 0;
+        ensureCapacity(tasks.size());
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    /** Inserts the task, or overwrites the task with the same id if already present. */
+    public synchronized void add(Task task) {
+        int slot = slotById.get(task.getTaskId());
+        if (slot == TaskIdIntMap.NONE) {
+            slot = allocate();
+            slotById.put(task.getTaskId(), slot);
+            live.set(slot);
+        }
+        write(slot, task);
+    }
+
+    public synchronized void update(Task updated) {
+        int slot = slotById.get(updated.getTaskId());
+        if (slot != TaskIdIntMap.NONE) write(slot, updated);
+    }
+
+    public synchronized void delete(String id) {
+        delete(TaskId.of(id));
+    }
+
+    public synchronized void delete(TaskId id) {
+        int slot = slotById.remove(id);
+        if (slot == TaskIdIntMap.NONE) return;
+        live.clear(slot);
+        completed.clear(slot);
+        rawIds[slot] = null;
+        titles[slot] = null;
+        descriptions[slot] = null;
+        owners[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    @Override
+    public synchronized int size() {
+        return slotById.size();
+    }
+
+    public synchronized Task getById(String id) {
+        return getById(TaskId.of(id));
+    }
+
+    @Override
+    public synchronized Task getById(TaskId id) {
+        int slot = slotById.get(id);
+        return slot == TaskIdIntMap.NONE ? null : view(slot);
+    }
+
+    /** All tasks in urgency order. Builds a view per task, so prefer the narrower queries. */
+    @Override
+    public synchronized List<Task> getAll() {
+        return views(select(s -> true, this::compareSlots));
+    }
+
+    /** Returns the most urgent task without sorting, or null if there are none. */
+    public synchronized Task peek() {
+        int best = -1;
+        for (int s = live.nextSetBit(0); s >= 0; s = live.nextSetBit(s + 1)) {
+            if (best < 0 || compareSlots(s, best) < 0) best = s;
+        }
+        return best < 0 ? null : view(best);
+    }
+
+    /** Tests a view of every task; slow compared to the column-based queries. */
+    public synchronized List<Task> filter(Predicate<Task> predicate) {
+        List<Task> result = new ArrayList<>();
+        for (Task t : getAll()) {
+            if (predicate.test(t)) result.add(t);
+        }
+        return result;
+    }
+
+    /** Open tasks due in {@code [from, to)}, most urgent first. */
+    @Override
+    public synchronized List<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        long lo = ceilMinutes(from);
+        long hi = ceilMinutes(to);
+        return views(select(s -> !completed.get(s) && deadlines[s] != DateUtil.NO_TIME
+                && deadlines[s] >= lo && deadlines[s] < hi, this::compareSlots));
+    }
+
+    /** Open tasks whose deadline is before {@code now}, most urgent first. */
+    @Override
+    public synchronized List<Task> overdueAsOf(LocalDateTime now) {
+        long cutoff = ceilMinutes(now);
+        return views(select(s -> !completed.get(s) && deadlines[s] != DateUtil.NO_TIME
+                && deadlines[s] < cutoff, this::compareSlots));
+    }
+
+    /**
+     * Open tasks whose reminder fires in {@code (after, until]}, in trigger order.
+     * A null {@code after} includes every earlier reminder.
+     */
+    public synchronized List<Task> remindersBetween(LocalDateTime after, LocalDateTime until) {
+        long lo = after == null ? Long.MIN_VALUE : DateUtil.toEpochMinutes(after);
+        long hi = DateUtil.toEpochMinutes(until);
+        return views(select(s -> {
+            if (completed.get(s) || deadlines[s] == DateUtil.NO_TIME || reminders[s] == NO_REMINDER) return false;
+            long trigger = trigger(s);
+            return trigger > lo && trigger <= hi;
+        }, (a, b) -> {
+            int c = Long.compare(trigger(a), trigger(b));
+            return c != 0 ? c : compareSlots(a, b);
+        }));
+    }
+
+    private long trigger(int slot) {
+        return deadlines[slot] - reminders[slot];
+    }
+
+    /** First whole minute at or after {@code dt}; columns only hold whole minutes. */
+    private static long ceilMinutes(LocalDateTime dt) {
+        long m = DateUtil.toEpochMinutes(dt);
+        return dt.getSecond() == 0 && dt.getNano() == 0 ? m : m + 1;
+    }
+
+    /** Open tasks with the given priority, most urgent first. */
+    @Override
+    public synchronized List<Task> byPriority(Priority priority) {
+        byte weight = (byte) priority.weight();
+        return views(select(s -> !completed.get(s) && priorities[s] == weight, this::compareSlots));
+    }
+
+    @Override
+    public synchronized List<Task> open() {
+        return views(select(s -> !completed.get(s), this::compareSlots));
+    }
+
+    @Override
+    public synchronized List<Task> completed() {
+        return views(select(completed::get, this::compareSlots));
+    }
+
+    private interface SlotPredicate {
+        boolean test(int slot);
+    }
+
+    private interface SlotOrder {
+        int compare(int a, int b);
+    }
+
+    /** Live slots matching the predicate, sorted. Element 0 holds the count. */
+    private int[] select(SlotPredicate p, SlotOrder order) {
+        int[] slots = new int[Math.max(16, slotById.size() + 1)];
+        int n = 0;
+        for (int s = live.nextSetBit(0); s >= 0; s = live.nextSetBit(s + 1)) {
+            if (p.test(s)) slots[1 + n++] = s;
+        }
+        slots[0] = n;
+        sortSlots(slots, 1, 1 + n, new int[n + 1], order);
+        return slots;
+    }
+
+    private List<Task> views(int[] selected) {
+        int n = selected[0];
+        List<Task> result = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            result.add(view(selected[i]));
+        }
+        return result;
+    }
+
+    private Task view(int slot) {
+        Task t = new Task(id(slot));
+        t.setTitle(titles[slot]);
+        t.setDescription(descriptions[slot]);
+        t.setPriority(Priority.fromWeight(priorities[slot]));
+        t.setDeadlineMinutes(deadlines[slot]);
+        t.setCreatedAtMinutes(created[slot]);
+        t.setCompleted(completed.get(slot));
+        t.setReminderMinutesBefore(reminders[slot] == NO_REMINDER ? null : reminders[slot]);
+        t.setOwner(owners[slot]);
+        return t;
+    }
+
+    private void write(int slot, Task t) {
+        TaskId id = t.getTaskId();
+        idHi[slot] = id.getMostSignificantBits();
+        idLo[slot] = id.getLeastSignificantBits();
+        rawIds[slot] = id.isUuid() ? null : id;
+        titles[slot] = t.getTitle();
+        descriptions[slot] = t.getDescription();
+        owners[slot] = t.getOwner();
+        deadlines[slot] = t.getDeadlineMinutes();
+        created[slot] = t.getCreatedAtMinutes();
+        priorities[slot] = (byte) t.getPriority().weight();
+        reminders[slot] = t.getReminderMinutesBefore() == null ? NO_REMINDER : t.getReminderMinutesBefore();
+        completed.set(slot, t.isCompleted());
+    }
+
+    private int allocate() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        ensureCapacity(highWater + 1);
+        return highWater++;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= titles.length) return;
+        int cap = Math.max(n, titles.length + (titles.length >> 1));
+        idHi = Arrays.copyOf(idHi, cap);
+        idLo = Arrays.copyOf(idLo, cap);
+        rawIds = Arrays.copyOf(rawIds, cap);
+        titles = Arrays.copyOf(titles, cap);
+        descriptions = Arrays.copyOf(descriptions, cap);
+        owners = Arrays.copyOf(owners, cap);
+        deadlines = Arrays.copyOf(deadlines, cap);
+        created = Arrays.copyOf(created, cap);
+        priorities = Arrays.copyOf(priorities, cap);
+        reminders = Arrays.copyOf(reminders, cap);
+    }
+
+    /** Same order as {@link Task#urgencyCompareTo}, on the columns. */
+    private int compareSlots(int a, int b) {
+        int p = Integer.compare(priorities[b], priorities[a]);
+        if (p != 0) return p;
+        long da = deadlines[a];
+        long db = deadlines[b];
+        if (da != db) {
+            if (da == DateUtil.NO_TIME) return 1;
+            if (db == DateUtil.NO_TIME) return -1;
+            return Long.compare(da, db);
+        }
+        int c = Long.compare(created[a], created[b]);
+        if (c != 0) return c;
+        if (rawIds[a] == null && rawIds[b] == null) {
+            c = Long.compareUnsigned(idHi[a], idHi[b]);
+            return c != 0 ? c : Long.compareUnsigned(idLo[a], idLo[b]);
+        }
+        return id(a).compareTo(id(b));
+    }
+
+    private TaskId id(int slot) {
+        return rawIds[slot] != null ? rawIds[slot] : new TaskId(idHi[slot], idLo[slot]);
+    }
+
+    /** Merge sort of {@code a[from, to)}; {@code tmp} must be as long as {@code a}. */
+    private static void sortSlots(int[] a, int from, int to, int[] tmp, SlotOrder order) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int x = a[i];
+                int j = i - 1;
+                while (j >= from && order.compare(a[j], x) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortSlots(a, from, mid, tmp, order);
+        sortSlots(a, mid, to, tmp, order);
+        if (order.compare(a[mid - 1], a[mid]) <= 0) return;
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            a[k++] = order.compare(tmp[j], tmp[i]) < 0 ? tmp[j++] : tmp[i++];
+        }
+        while (i < mid) a[k++] = tmp[i++];
+        while (j < to) a[k++] = tmp[j++];
+    }
+}
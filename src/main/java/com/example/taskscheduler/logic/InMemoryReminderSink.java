@@ -0,0 +1,44 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Keeps delivered batches in memory, for headless runs and tests. */
+public class InMemoryReminderSink implements ReminderSink {
+    private final List<ReminderBatch> batches = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(ReminderBatch batch) {
+        batches.add(batch);
+        notifyAll();
+    }
+
+    public synchronized List<ReminderBatch> getBatches() {
+        return new ArrayList<>(batches);
+    }
+
+    public synchronized List<Task> getTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (ReminderBatch b : batches) {
+            tasks.addAll(b.getTasks());
+        }
+        return tasks;
+    }
+
+    /** Waits until at least {@code count} reminders have been delivered or the timeout expires. */
+    public synchronized boolean awaitTasks(int count, long timeoutMillis) throws InterruptedException {
+        long end = System.currentTimeMillis() + timeoutMillis;
+        while (getTasks().size() < count) {
+            long left = end - System.currentTimeMillis();
+            if (left <= 0) return false;
+            wait(left);
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        batches.clear();
+    }
+}
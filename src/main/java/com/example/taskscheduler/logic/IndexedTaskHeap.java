@@ -0,0 +1,217 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.TaskIdMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Binary heap of tasks ordered by urgency and indexed by task id.
+ * Each entry remembers its slot in the heap array, so update and removal
+ * re-sift from that slot in O(log n) instead of scanning the whole queue.
+ */
+class IndexedTaskHeap {
+
+    private static final class Entry {
+        Task task;
+        int pos;
+
+        Entry(Task task) {
+            this.task = task;
+        }
+    }
+
+    private Entry[] heap = new Entry[16];
+    private int size;
+    private final TaskIdMap<Entry> index = new TaskIdMap<>();
+
+    int size() {
+        return size;
+    }
+
+    Task get(TaskId id) {
+        Entry e = index.get(id);
+        return e == null ? null : e.task;
+    }
+
+    Task peek() {
+        return size == 0 ? null : heap[0].task;
+    }
+
+    void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        index.clear();
+    }
+
+    /** Inserts the task, or replaces the task with the same id if already present. */
+    void add(Task task) {
+        if (update(task)) return;
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        Entry e = new Entry(task);
+        e.pos = size;
+        heap[size++] = e;
+        index.put(task.getTaskId(), e);
+        siftUp(e.pos);
+    }
+
+    /**
+     * Adds or replaces every task. Large batches restore heap order bottom-up
+     * in O(n) rather than sifting each insert. Later tasks win over earlier
+     * ones with the same id, as with repeated {@link #add}.
+     */
+    void addAll(Collection<Task> tasks) {
+        if (!worthRebuilding(tasks.size())) {
+            for (Task t : tasks) {
+                add(t);
+            }
+            return;
+        }
+        if (size + tasks.size() > heap.length) {
+            heap = Arrays.copyOf(heap, Math.max(size + tasks.size(), heap.length * 2));
+        }
+        for (Task t : tasks) {
+            Entry e = index.get(t.getTaskId());
+            if (e != null) {
+                e.task = t;
+                continue;
+            }
+            e = new Entry(t);
+            e.pos = size;
+            heap[size++] = e;
+            index.put(t.getTaskId(), e);
+        }
+        heapify();
+    }
+
+    /** Replaces the tasks whose id is present; returns those, in the given order. */
+    List<Task> updateAll(Collection<Task> tasks) {
+        List<Task> updated = new ArrayList<>();
+        if (!worthRebuilding(tasks.size())) {
+            for (Task t : tasks) {
+                if (update(t)) updated.add(t);
+            }
+            return updated;
+        }
+        for (Task t : tasks) {
+            Entry e = index.get(t.getTaskId());
+            if (e != null) {
+                e.task = t;
+                updated.add(t);
+            }
+        }
+        heapify();
+        return updated;
+    }
+
+    /** Removes every task matching the filter in one pass; returns the removed tasks. */
+    List<Task> removeIf(Predicate<Task> filter) {
+        List<Task> removed = new ArrayList<>();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Entry e = heap[i];
+            if (filter.test(e.task)) {
+                index.remove(e.task.getTaskId());
+                removed.add(e.task);
+            } else {
+                e.pos = kept;
+                heap[kept++] = e;
+            }
+        }
+        if (removed.isEmpty()) return removed;
+        Arrays.fill(heap, kept, size, null);
+        size = kept;
+        heapify();
+        return removed;
+    }
+
+    /** Whether re-heapifying everything beats sifting {@code k} entries one by one. */
+    private boolean worthRebuilding(int k) {
+        int log = 32 - Integer.numberOfLeadingZeros(size + k);
+        return (long) k * log >= size + k;
+    }
+
+    private void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Replaces the task with the same id and restores heap order. The old
+     * instance may already have been mutated in place, so both directions are tried.
+     */
+    boolean update(Task task) {
+        Entry e = index.get(task.getTaskId());
+        if (e == null) return false;
+        e.task = task;
+        int pos = e.pos;
+        siftUp(pos);
+        if (e.pos == pos) siftDown(pos);
+        return true;
+    }
+
+    Task remove(TaskId id) {
+        Entry e = index.remove(id);
+        if (e == null) return null;
+        int pos = e.pos;
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (last != e) {
+            heap[pos] = last;
+            last.pos = pos;
+            siftUp(pos);
+            if (last.pos == pos) siftDown(pos);
+        }
+        return e.task;
+    }
+
+    /** Returns the tasks in heap order (not sorted). */
+    Task[] toArray() {
+        Task[] tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            tasks[i] = heap[i].task;
+        }
+        return tasks;
+    }
+
+    private void siftUp(int pos) {
+        Entry e = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            Entry p = heap[parent];
+            if (e.task.urgencyCompareTo(p.task) >= 0) break;
+            heap[pos] = p;
+            p.pos = pos;
+            pos = parent;
+        }
+        heap[pos] = e;
+        e.pos = pos;
+    }
+
+    private void siftDown(int pos) {
+        Entry e = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && heap[right].task.urgencyCompareTo(heap[child].task) < 0) {
+                child = right;
+            }
+            Entry c = heap[child];
+            if (e.task.urgencyCompareTo(c.task) <= 0) break;
+            heap[pos] = c;
+            c.pos = pos;
+            pos = child;
+        }
+        heap[pos] = e;
+        e.pos = pos;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.util.DateUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Appends one line per reminder to a log file. If a write fails part way the
+ * batch is retried whole, so the log can repeat some of its lines.
+ */
+public class LogFileReminderSink implements ReminderSink {
+    private final Path file;
+
+    public LogFileReminderSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void deliver(ReminderBatch batch) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (!Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        String now = DateUtil.formatDateTime(LocalDateTime.now());
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Task t : batch.getTasks()) {
+                w.write(now + " Reminder: " + t.getTitle()
+                        + (t.getDeadline() != null ? " (due " + DateUtil.formatDateTime(t.getDeadline()) + ")" : "")
+                        + System.lineSeparator());
+            }
+            if (batch.getDropped() > 0) {
+                w.write(now + " " + batch.getDropped() + " reminder(s) dropped" + System.lineSeparator());
+            }
+        }
+    }
+}
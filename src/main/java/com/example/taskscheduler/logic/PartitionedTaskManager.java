@@ -0,0 +1,295 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Task lists of many owners (users, projects) in one process, split into
+ * shards by owner key. Each shard has its own {@link TaskManager}, its own
+ * journaled storage file and its own {@link ReminderService}, so owners in
+ * different shards never contend on a lock, a file or a reminder wheel.
+ * <p>
+ * All tasks of an owner live in the shard its key hashes to, and carry the
+ * key as their {@link Task#getOwner() owner}. A shard holds many owners, so
+ * lookups and writes check the owner and per-owner listings go through
+ * {@link #tasksOf}. The shard count is saved next to the shard files, since
+ * reopening them with another count would route owners to the wrong shard.
+ * <p>
+ * Cross-shard
+ * queries k-way merge every shard's sorted result and stop after the limit,
+ * but each shard still collects and sorts its full result first:
+ * {@link #topUrgent} merges the shards' cached {@link TaskManager#getAll()}
+ * snapshots, while {@link #overdueAsOf} pays for every overdue task in every
+ * shard whatever the limit.
+ */
+public class PartitionedTaskManager {
+
+    public static final class Shard {
+        final TaskManager manager = new TaskManager();
+        final TaskStorage storage;
+        final ReminderService reminders = new ReminderService();
+
+        Shard(Path file) {
+            this.storage = new TaskStorage(file, true);
+        }
+
+        public TaskManager manager() { return manager; }
+        public TaskStorage storage() { return storage; }
+        public ReminderService reminders() { return reminders; }
+    }
+
+    // Shard loads block on file reads, so they get threads of their own
+    private static final int MAX_LOAD_THREADS = 8;
+    static final String COUNT_FILE = "shard-count";
+    private static final Pattern SHARD_FILE = Pattern.compile("shard-(\\d+)\\.json.*");
+
+    private final Shard[] shards;
+
+    /**
+     * Shards are stored as {@code shard-NN.json} (plus journals) under {@code dir}.
+     *
+     * @throws IllegalStateException if {@code dir} holds shards written with another count
+     */
+    public PartitionedTaskManager(Path dir, int shardCount) {
+        if (shardCount < 1) throw new IllegalArgumentException("shardCount must be at least 1");
+        checkShardCount(dir, shardCount);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(dir.resolve(String.format("shard-%02d.json", i)));
+        }
+    }
+
+    /**
+     * Loads every shard in parallel and arms its reminders. The loads run on a
+     * pool of their own that is shut down afterwards, not on the common
+     * fork-join pool, whose few threads would sit blocked on I/O.
+     */
+    public void load() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService loader = Executors.newFixedThreadPool(Math.min(shards.length, MAX_LOAD_THREADS), r -> {
+            Thread t = new Thread(r, "ShardLoader-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            CompletableFuture<?>[] loads = new CompletableFuture<?>[shards.length];
+            for (int i = 0; i < shards.length; i++) {
+                Shard s = shards[i];
+                loads[i] = CompletableFuture.runAsync(() -> {
+                    s.manager.setAll(s.storage.load());
+                    s.reminders.attach(s.manager);
+                }, loader);
+            }
+            CompletableFuture.allOf(loads).join();
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Records the shard count in {@code dir}, or checks it against the one
+     * recorded. Directories from before the count file are checked against
+     * the highest shard file number; that can only prove a larger count, since
+     * shards that were never written have no file.
+     */
+    private static void checkShardCount(Path dir, int shardCount) {
+        Path countFile = dir.resolve(COUNT_FILE);
+        try {
+            if (Files.exists(countFile)) {
+                String stored = Files.readString(countFile).trim();
+                if (!stored.equals(Integer.toString(shardCount))) {
+                    throw new IllegalStateException(dir + " holds " + stored + " shards, not " + shardCount);
+                }
+                return;
+            }
+            if (Files.isDirectory(dir)) {
+                int highest = -1;
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "shard-*")) {
+                    for (Path f : files) {
+                        Matcher m = SHARD_FILE.matcher(f.getFileName().toString());
+                        if (m.matches()) highest = Math.max(highest, Integer.parseInt(m.group(1)));
+                    }
+                }
+                if (highest >= shardCount) {
+                    throw new IllegalStateException(dir + " holds at least " + (highest + 1)
+                            + " shards, not " + shardCount);
+                }
+            }
+            Files.createDirectories(dir);
+            Files.writeString(countFile, shardCount + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not check the shard count in " + dir + ": " + e.getMessage(), e);
+        }
+    }
+
+    Shard shardFor(String ownerKey) {
+        return shards[Math.floorMod(spread(ownerKey.hashCode()), shards.length)];
+    }
+
+    /** Every shard, each with the tasks of all its owners; for administration, not per-owner views. */
+    public List<Shard> shards() {
+        return Collections.unmodifiableList(Arrays.asList(shards));
+    }
+
+    /** The owner's tasks, most urgent first. */
+    public List<Task> tasksOf(String ownerKey) {
+        List<Task> result = new ArrayList<>();
+        for (Task t : shardFor(ownerKey).manager.getAll()) {
+            if (ownerKey.equals(t.getOwner())) result.add(t);
+        }
+        return result;
+    }
+
+    public void addSink(ReminderSink sink) {
+        for (Shard s : shards) {
+            s.reminders.addSink(sink);
+        }
+    }
+
+    /**
+     * Adds the task for the owner, setting its owner if unset.
+     *
+     * @throws IllegalArgumentException if the task, or a task with its id, belongs to another owner
+     */
+    public void add(String ownerKey, Task task) {
+        Shard s = shardFor(ownerKey);
+        // Per shard, so the owner check and the write can't interleave with another owner's
+        synchronized (s) {
+            if (task.getOwner() == null) task.setOwner(ownerKey);
+            checkOwner(ownerKey, task);
+            Task existing = s.manager.getById(task.getTaskId());
+            if (existing != null) checkOwner(ownerKey, existing);
+            s.manager.add(task);
+            s.reminders.scheduleFor(task);
+            s.storage.recordAdd(task);
+        }
+    }
+
+    /**
+     * Writes back a changed task of the owner; unknown ids are ignored, as in
+     * {@link TaskManager#update}.
+     *
+     * @throws IllegalArgumentException if the task belongs to another owner
+     */
+    public void update(String ownerKey, Task task) {
+        Shard s = shardFor(ownerKey);
+        synchronized (s) {
+            Task existing = s.manager.getById(task.getTaskId());
+            if (existing == null) return;
+            checkOwner(ownerKey, existing);
+            checkOwner(ownerKey, task);
+            s.manager.update(task);
+            s.reminders.scheduleFor(task);
+            s.storage.recordUpdate(task);
+        }
+    }
+
+    /** @throws IllegalArgumentException if the task belongs to another owner */
+    public void delete(String ownerKey, TaskId id) {
+        Shard s = shardFor(ownerKey);
+        synchronized (s) {
+            Task existing = s.manager.getById(id);
+            if (existing == null) return;
+            checkOwner(ownerKey, existing);
+            s.reminders.cancel(id);
+            s.manager.delete(id);
+            s.storage.recordDelete(id);
+        }
+    }
+
+    /** The owner's task with the given id, or null if there is none or it is another owner's. */
+    public Task getById(String ownerKey, TaskId id) {
+        Task t = shardFor(ownerKey).manager.getById(id);
+        return t != null && ownerKey.equals(t.getOwner()) ? t : null;
+    }
+
+    private static void checkOwner(String ownerKey, Task task) {
+        if (!ownerKey.equals(task.getOwner())) {
+            throw new IllegalArgumentException("Task " + task.getId() + " does not belong to " + ownerKey);
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (Shard s : shards) {
+            n += s.manager.size();
+        }
+        return n;
+    }
+
+    /** The {@code limit} most urgent tasks across all shards and owners. */
+    public List<Task> topUrgent(int limit) {
+        return merge(s -> s.manager.getAll(), limit);
+    }
+
+    /** Open tasks overdue as of {@code now} across all shards and owners, most urgent first. */
+    public List<Task> overdueAsOf(LocalDateTime now) {
+        return overdueAsOf(now, Integer.MAX_VALUE);
+    }
+
+    public List<Task> overdueAsOf(LocalDateTime now, int limit) {
+        return merge(s -> s.manager.overdueAsOf(now), limit);
+    }
+
+    /** Waits for every shard's pending writes, then stops reminders and storage. */
+    public void close() {
+        for (Shard s : shards) {
+            s.storage.close();
+            s.reminders.shutdown();
+        }
+    }
+
+    private static final class Cursor {
+        final List<Task> list;
+        int next;
+
+        Cursor(List<Task> list) {
+            this.list = list;
+        }
+
+        Task head() {
+            return list.get(next);
+        }
+    }
+
+    /** K-way merge of the shards' urgency-sorted lists, stopping after {@code limit} tasks. */
+    private List<Task> merge(Function<Shard, List<Task>> view, int limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(shards.length,
+                (a, b) -> a.head().urgencyCompareTo(b.head()));
+        for (Shard s : shards) {
+            List<Task> list = view.apply(s);
+            if (!list.isEmpty()) heads.add(new Cursor(list));
+        }
+        List<Task> result = new ArrayList<>();
+        while (result.size() < limit && !heads.isEmpty()) {
+            Cursor c = heads.poll();
+            result.add(c.head());
+            if (++c.next < c.list.size()) heads.add(c);
+        }
+        return result;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
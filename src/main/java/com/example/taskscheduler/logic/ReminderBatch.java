@@ -0,0 +1,24 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+
+import java.util.Collections;
+import java.util.List;
+
+/** Reminders delivered to a {@link ReminderSink} in one go. */
+public class ReminderBatch {
+    private final List<Task> tasks;
+    private final int dropped;
+
+    public ReminderBatch(List<Task> tasks, int dropped) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.dropped = dropped;
+    }
+
+    public List<Task> getTasks() { return tasks; }
+
+    /** Reminders that fell due but were shed because the pipeline was saturated. */
+    public int getDropped() { return dropped; }
+
+    public int size() { return tasks.size(); }
+}
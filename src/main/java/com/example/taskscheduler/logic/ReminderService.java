@@ -1,72 +1,355 @@
 package com.example.taskscheduler.logic;
 
 import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
 
-import javax.swing.SwingUtilities;
-import javax.swing.JOptionPane;
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Arms task reminders on a {@link TimingWheel}.
+ * <p>
+ * Once {@link #attach(TaskManager) attached} to a task manager, only reminders
+ * that fire within the horizon are armed. A periodic sweep asks the manager's
+ * reminder index for the next window, so the number of live timers depends on
+ * near-term reminders rather than on the whole backlog. Without a manager every
+ * reminder is armed as before.
+ * <p>
+ * Due reminders are not shown directly. They go into a bounded queue that a
+ * dispatch thread drains once per tick into a {@link ReminderBatch} for each
+ * registered {@link ReminderSink}. A sink receives at most one batch per
+ * minimum delivery interval; reminders that come due in between, or while the
+ * sink is still busy with the previous batch, are coalesced into its next one.
+ * When the queue or a sink's backlog is full, reminders are dropped and counted
+ * in {@link ReminderBatch#getDropped()}.
+ * <p>
+ * Each batch is handed to its sink on a delivery executor, one thread per
+ * delivery: virtual threads when the JDK has them (21+), otherwise a fixed
+ * pool of platform threads with a bounded queue. A blocking sink therefore only
+ * delays itself. Every attempt is bounded by the sink's timeout, after which
+ * the delivering thread is interrupted and the batch is retried with
+ * exponential backoff; an attempt the full pool rejects is retried the same way.
+ */
 public class ReminderService {
-    private final Timer timer = new Timer("TaskReminders", true);
-    private final Map<String, TimerTask> scheduled = new HashMap<>();
+    private static final long TICK_MILLIS = 250;
+    private static final Duration DEFAULT_HORIZON = Duration.ofHours(6);
+    static final int QUEUE_CAPACITY = 10_000;
+    static final int MAX_BATCH = 1_000;
+    private static final long COALESCE_MILLIS = 50;
+    private static final Duration DEFAULT_SINK_TIMEOUT = Duration.ofSeconds(10);
+    private static final int DEFAULT_SINK_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+    static final int FALLBACK_DELIVERY_THREADS = 32;
+    static final int FALLBACK_DELIVERY_QUEUE = 256;
+
+    private static final class SinkState {
+        final ReminderSink sink;
+        final long timeoutMillis;
+        final int maxAttempts;
+        // Only touched by the delivery thread
+        final List<Task> pending = new ArrayList<>();
+        int dropped;
+        volatile boolean busy;
+        volatile long lastDelivery = Long.MIN_VALUE / 2;
+
+        SinkState(ReminderSink sink, Duration timeout, int maxAttempts) {
+            this.sink = sink;
+            this.timeoutMillis = timeout.toMillis();
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    private final Duration horizon;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TaskReminders");
+        t.setDaemon(true);
+        return t;
+    });
+    private final TimingWheel wheel = new TimingWheel("TaskReminderWheel", TICK_MILLIS, dispatcher);
+    private final BlockingQueue<Task> due = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicInteger overflow = new AtomicInteger();
+    private final List<SinkState> sinks = new CopyOnWriteArrayList<>();
+    private final Thread deliveryThread;
+    private final ExecutorService deliveryExecutor = newDeliveryExecutor();
+    private volatile long minDeliveryIntervalMillis = 1000;
+    private volatile boolean stopped;
+    private ScheduledExecutorService sweeper;
+    private TaskManager source;
+    // Reminders up to this time are armed; later ones are left to the sweep
+    private LocalDateTime armedUntil;
+
+    public ReminderService() {
+        this(DEFAULT_HORIZON);
+    }
+
+    public ReminderService(Duration horizon) {
+        if (horizon.isNegative() || horizon.isZero()) {
+            throw new IllegalArgumentException("horizon must be positive");
+        }
+        this.horizon = horizon;
+        this.deliveryThread = new Thread(this::runDelivery, "TaskReminderDelivery");
+        this.deliveryThread.setDaemon(true);
+        this.deliveryThread.start();
+    }
+
+    public void addSink(ReminderSink sink) {
+        addSink(sink, DEFAULT_SINK_TIMEOUT, DEFAULT_SINK_ATTEMPTS);
+    }
+
+    /**
+     * @param timeout     bound on a single delivery attempt
+     * @param maxAttempts attempts per batch, including the first
+     */
+    public void addSink(ReminderSink sink, Duration timeout, int maxAttempts) {
+        if (timeout.isNegative() || timeout.isZero()) throw new IllegalArgumentException("timeout must be positive");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1");
+        sinks.add(new SinkState(sink, timeout, maxAttempts));
+    }
+
+    public void removeSink(ReminderSink sink) {
+        sinks.removeIf(s -> s.sink == sink);
+    }
+
+    /** Minimum time between two batches to the same sink. Defaults to one second. */
+    public void setMinDeliveryInterval(Duration interval) {
+        if (interval.isNegative()) throw new IllegalArgumentException("interval must not be negative");
+        this.minDeliveryIntervalMillis = interval.toMillis();
+    }
+
+    /**
+     * Arms every reminder due within the horizon, including ones already
+     * overdue, and starts sweeping the manager for later windows.
+     */
+    public synchronized void attach(TaskManager manager) {
+        this.source = manager;
+        wheel.cancelAll();
+        armedUntil = null;
+        sweep();
+        if (sweeper == null) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "TaskReminderSweep");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = Math.max(1000, horizon.toMillis() / 4);
+            sweeper.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void sweep() {
+        LocalDateTime until = LocalDateTime.now().plus(horizon);
+        for (Task t : source.remindersBetween(armedUntil, until)) {
+            arm(t);
+        }
+        armedUntil = until;
+    }
 
     public synchronized void scheduleFor(Task task) {
-        cancel(task.getId());
-        if (task.getDeadline() == null) return;
+        cancel(task.getTaskId());
+        if (!task.hasDeadline()) return;
         if (task.isCompleted()) return;
+        if (task.getReminderMinutesBefore() == null) return;
+        long trigger = task.getDeadlineMinutes() - task.getReminderMinutesBefore();
+        if (armedUntil != null && trigger > DateUtil.toEpochMinutes(armedUntil)) return; // picked up by a later sweep
+        arm(task);
+    }
 
-        Integer lead = task.getReminderMinutesBefore();
-        if (lead == null) return;
-
-        LocalDateTime trigger = task.getDeadline().minusMinutes(lead);
-        long delayMs = Duration.between(LocalDateTime.now(), trigger).toMillis();
-        if (delayMs <= 0) {
-            // If time already passed but not done, show immediately
-            showReminder(task);
+    private void arm(Task task) {
+        LocalDateTime trigger = DateUtil.fromEpochMinutes(task.getDeadlineMinutes() - task.getReminderMinutesBefore());
+        long triggerMs = trigger.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (triggerMs <= System.currentTimeMillis()) {
+            // If time already passed but not done, remind immediately
+            enqueue(task);
             return;
         }
 
-        TimerTask tt = new TimerTask() {
-            @Override
-            public void run() {
-                showReminder(task);
-                synchronized (ReminderService.this) {
-                    scheduled.remove(task.getId());
+        wheel.schedule(task.getTaskId(), triggerMs, () -> enqueue(task));
+    }
+
+    private void enqueue(Task task) {
+        if (!due.offer(task)) {
+            overflow.incrementAndGet();
+        }
+    }
+
+    private void runDelivery() {
+        List<Task> drained = new ArrayList<>();
+        while (!stopped) {
+            try {
+                Task first = due.poll(TICK_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    drained.add(first);
+                    // Let the rest of a burst (a wheel tick or a sweep) arrive before cutting the batch
+                    long until = System.currentTimeMillis() + COALESCE_MILLIS;
+                    long left;
+                    while (drained.size() < MAX_BATCH && (left = until - System.currentTimeMillis()) > 0) {
+                        Task next = due.poll(left, TimeUnit.MILLISECONDS);
+                        if (next == null) break;
+                        drained.add(next);
+                        due.drainTo(drained, MAX_BATCH - drained.size());
+                    }
                 }
+            } catch (InterruptedException e) {
+                return;
             }
-        };
-        scheduled.put(task.getId(), tt);
-        timer.schedule(tt, delayMs);
+            int lost = overflow.getAndSet(0);
+            for (SinkState s : sinks) {
+                s.dropped += lost;
+                int room = MAX_BATCH - s.pending.size();
+                if (room >= drained.size()) {
+                    s.pending.addAll(drained);
+                } else {
+                    s.pending.addAll(drained.subList(0, Math.max(room, 0)));
+                    s.dropped += drained.size() - Math.max(room, 0);
+                }
+            }
+            drained.clear();
+            for (SinkState s : sinks) {
+                deliverIfReady(s);
+            }
+        }
+    }
+
+    private void deliverIfReady(SinkState s) {
+        if (s.busy || (s.pending.isEmpty() && s.dropped == 0)) return;
+        long now = System.currentTimeMillis();
+        if (now - s.lastDelivery < minDeliveryIntervalMillis) return;
+        ReminderBatch batch = new ReminderBatch(new ArrayList<>(s.pending), s.dropped);
+        s.pending.clear();
+        s.dropped = 0;
+        s.busy = true;
+        attempt(s, batch, 1);
+    }
+
+    private void attempt(SinkState s, ReminderBatch batch, int attemptNo) {
+        CompletableFuture<Void> delivery = new CompletableFuture<>();
+        Future<?> running = submit(s, batch, delivery);
+        if (running == null && stopped) {
+            s.busy = false;
+            return;
+        }
+        delivery.orTimeout(s.timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((v, err) -> {
+            if (err == null) {
+                finished(s);
+                return;
+            }
+            if (running != null) running.cancel(true); // interrupts an attempt that timed out
+            if (attemptNo >= s.maxAttempts || stopped) {
+                System.err.println("Reminder delivery failed after " + attemptNo + " attempt(s)");
+                err.printStackTrace();
+                finished(s);
+                return;
+            }
+            long backoff = RETRY_BACKOFF_MILLIS << (attemptNo - 1);
+            // attempt() only submits, so it can run on the delay's own thread; submitting
+            // through the delivery executor instead could be rejected where nobody sees it
+            Executor later = CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS);
+            later.execute(() -> attempt(s, batch, attemptNo + 1));
+        });
+    }
+
+    /** Returns null if the executor rejected the delivery, which then fails with that rejection. */
+    private Future<?> submit(SinkState s, ReminderBatch batch, CompletableFuture<Void> delivery) {
+        try {
+            return deliveryExecutor.submit(() -> {
+                try {
+                    s.sink.deliver(batch);
+                    delivery.complete(null);
+                } catch (Throwable e) {
+                    delivery.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down, or the platform pool and its queue are full and the attempt backs off
+            delivery.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private static void finished(SinkState s) {
+        // Measured after delivery, so a slow sink is rate limited by its own pace
+        s.lastDelivery = System.currentTimeMillis();
+        s.busy = false;
     }
 
-    private void showReminder(Task task) {
-        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
-                null,
-                "Reminder: " + task.getTitle() +
-                        (task.getDeadline() != null ? "\nDue: " + task.getDeadline() : ""),
-                "Task Reminder",
-                JOptionPane.INFORMATION_MESSAGE
-        ));
+    /**
+     * Virtual thread per delivery on JDK 21+, looked up reflectively so the
+     * build still targets 17. Otherwise a fixed platform pool whose queue holds
+     * at most {@value #FALLBACK_DELIVERY_QUEUE} deliveries; beyond that submit
+     * throws {@link RejectedExecutionException}.
+     */
+    private static ExecutorService newDeliveryExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger n = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_DELIVERY_THREADS, FALLBACK_DELIVERY_THREADS,
+                    30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(FALLBACK_DELIVERY_QUEUE), r -> {
+                Thread t = new Thread(r, "TaskReminderSink-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
     }
 
     public synchronized void cancel(String taskId) {
-        TimerTask tt = scheduled.remove(taskId);
-        if (tt != null) tt.cancel();
+        cancel(TaskId.of(taskId));
     }
 
-    public synchronized void rescheduleAll(Collection<Task> tasks) {
-        for (TimerTask tt : scheduled.values()) {
-            tt.cancel();
+    public synchronized void cancel(TaskId taskId) {
+        wheel.cancel(taskId);
+    }
+
+    /** Brings reminders in line with a bulk change to the attached manager in one step. */
+    public synchronized void apply(ChangeSet changes) {
+        for (TaskId id : changes.getDeleted()) {
+            wheel.cancel(id);
         }
-        scheduled.clear();
+        for (Task t : changes.getChanged()) {
+            scheduleFor(t);
+        }
+    }
+
+    public synchronized void rescheduleAll(Collection<Task> tasks) {
+        wheel.cancelAll();
         for (Task t : tasks) {
             scheduleFor(t);
         }
     }
 
+    /** Number of reminders currently armed. */
+    public int pendingCount() {
+        return wheel.size();
+    }
+
     public void shutdown() {
-        timer.cancel();
+        synchronized (this) {
+            if (sweeper != null) sweeper.shutdownNow();
+        }
+        wheel.shutdown();
+        dispatcher.shutdownNow();
+        stopped = true;
+        deliveryThread.interrupt();
+        deliveryExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,24 @@
+package com.example.taskscheduler.logic;
+
+/**
+ * Destination for due reminders. {@link ReminderService} coalesces reminders
+ * into batches and starts at most one delivery to a sink per minimum delivery
+ * interval.
+ * <p>
+ * {@link #deliver} runs on the service's delivery executor (a virtual thread
+ * per call on JDK 21+, otherwise a pooled thread), never on the caller's or
+ * the dispatch thread. Implementations must be thread-safe and idempotent:
+ * <ul>
+ * <li>an attempt that throws or exceeds the sink's timeout is interrupted and
+ * the same batch is delivered again after a backoff, so a sink can see a batch
+ * more than once, including one it had partly handled;</li>
+ * <li>an attempt that ignores the interrupt may still be running when the
+ * retry, or the next batch, starts on another thread.</li>
+ * </ul>
+ * Block only as long as the timeout allows and respond to interruption;
+ * anything the sink needs on a particular thread (such as the EDT) it must
+ * hand off itself.
+ */
+public interface ReminderSink {
+    void deliver(ReminderBatch batch) throws Exception;
+}
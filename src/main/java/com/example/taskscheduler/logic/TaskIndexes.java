@@ -0,0 +1,158 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+import com.example.taskscheduler.util.TaskIdMap;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Secondary indexes over the task set: open tasks by deadline, by reminder time
+ * and by priority, plus the open/completed split. Times are keyed in epoch
+ * minutes, as {@link Task} stores them. The keys a task was indexed under are
+ * kept per id, so a task mutated in place can still be unlinked from its old
+ * buckets.
+ */
+class TaskIndexes {
+
+    private static final class Keys {
+        final long deadline;
+        final Priority priority;
+        final boolean completed;
+        final long trigger; // reminder time, NO_TIME if no reminder is due
+
+        Keys(Task t) {
+            this.deadline = t.getDeadlineMinutes();
+            this.priority = t.getPriority();
+            this.completed = t.isCompleted();
+            Integer lead = t.getReminderMinutesBefore();
+            this.trigger = completed || deadline == DateUtil.NO_TIME || lead == null ? DateUtil.NO_TIME : deadline - lead;
+        }
+    }
+
+    private final TaskIdMap<Keys> keys = new TaskIdMap<>();
+    private final NavigableMap<Long, TaskIdMap<Task>> openByDeadline = new TreeMap<>();
+    private final NavigableMap<Long, TaskIdMap<Task>> openByTrigger = new TreeMap<>();
+    private final Map<Priority, TaskIdMap<Task>> openByPriority = new EnumMap<>(Priority.class);
+    private final TaskIdMap<Task> open = new TaskIdMap<>();
+    private final TaskIdMap<Task> completed = new TaskIdMap<>();
+
+    TaskIndexes() {
+        for (Priority p : Priority.values()) {
+            openByPriority.put(p, new TaskIdMap<>());
+        }
+    }
+
+    void clear() {
+        keys.clear();
+        openByDeadline.clear();
+        openByTrigger.clear();
+        for (TaskIdMap<Task> bucket : openByPriority.values()) {
+            bucket.clear();
+        }
+        open.clear();
+        completed.clear();
+    }
+
+    /** Indexes the task, replacing whatever was indexed under the same id. */
+    void put(Task task) {
+        TaskId id = task.getTaskId();
+        remove(id);
+        Keys k = new Keys(task);
+        keys.put(id, k);
+        if (k.completed) {
+            completed.put(id, task);
+            return;
+        }
+        open.put(id, task);
+        openByPriority.get(k.priority).put(id, task);
+        if (k.deadline != DateUtil.NO_TIME) {
+            openByDeadline.computeIfAbsent(k.deadline, d -> new TaskIdMap<>(2)).put(id, task);
+        }
+        if (k.trigger != DateUtil.NO_TIME) {
+            openByTrigger.computeIfAbsent(k.trigger, d -> new TaskIdMap<>(2)).put(id, task);
+        }
+    }
+
+    void remove(TaskId id) {
+        Keys k = keys.remove(id);
+        if (k == null) return;
+        if (k.completed) {
+            completed.remove(id);
+            return;
+        }
+        open.remove(id);
+        openByPriority.get(k.priority).remove(id);
+        if (k.deadline != DateUtil.NO_TIME) unlink(openByDeadline, k.deadline, id);
+        if (k.trigger != DateUtil.NO_TIME) unlink(openByTrigger, k.trigger, id);
+    }
+
+    private static void unlink(NavigableMap<Long, TaskIdMap<Task>> index, long key, TaskId id) {
+        TaskIdMap<Task> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) index.remove(key);
+        }
+    }
+
+    // Apart from remindersBetween, queries return tasks unsorted; the caller sorts outside its lock.
+    // Bounds may have seconds; a whole-minute key k is before t exactly when k < ceilMinutes(t).
+
+    /** Open tasks with {@code from <= deadline < to}. */
+    List<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        long lo = ceilMinutes(from);
+        long hi = ceilMinutes(to);
+        if (lo >= hi) return new ArrayList<>();
+        return flatten(openByDeadline.subMap(lo, true, hi, false).values());
+    }
+
+    /** Open tasks whose deadline is strictly before {@code now}. */
+    List<Task> overdueAsOf(LocalDateTime now) {
+        return flatten(openByDeadline.headMap(ceilMinutes(now), false).values());
+    }
+
+    /**
+     * Open tasks whose reminder time is in {@code (after, until]}, in trigger order.
+     * A null {@code after} means no lower bound.
+     */
+    List<Task> remindersBetween(LocalDateTime after, LocalDateTime until) {
+        long hi = DateUtil.toEpochMinutes(until);
+        long lo = after == null ? DateUtil.NO_TIME : DateUtil.toEpochMinutes(after);
+        NavigableMap<Long, TaskIdMap<Task>> range = after == null
+                ? openByTrigger.headMap(hi, true)
+                : lo < hi ? openByTrigger.subMap(lo, false, hi, true) : Collections.emptyNavigableMap();
+        List<Task> list = new ArrayList<>();
+        for (TaskIdMap<Task> bucket : range.values()) {
+            list.addAll(bucket.values());
+        }
+        return list;
+    }
+
+    List<Task> byPriority(Priority priority) {
+        return new ArrayList<>(openByPriority.get(priority).values());
+    }
+
+    List<Task> open() {
+        return new ArrayList<>(open.values());
+    }
+
+    List<Task> completed() {
+        return new ArrayList<>(completed.values());
+    }
+
+    private static long ceilMinutes(LocalDateTime t) {
+        long minutes = DateUtil.toEpochMinutes(t);
+        return t.getSecond() == 0 && t.getNano() == 0 ? minutes : minutes + 1;
+    }
+
+    private static List<Task> flatten(Collection<TaskIdMap<Task>> buckets) {
+        List<Task> list = new ArrayList<>();
+        for (TaskIdMap<Task> bucket : buckets) {
+            list.addAll(bucket.values());
+        }
+        return list;
+    }
+}
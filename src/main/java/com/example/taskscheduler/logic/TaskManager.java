@@ -1,60 +1,411 @@
 package com.example.taskscheduler.logic;
 
+import com.example.taskscheduler.model.Priority;
 import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.TaskIdIntMap;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
-public class TaskManager {
-    private final PriorityQueue<Task> queue;
-    private final Map<String, Task> byId;
+/**
+ * Holds the tasks with their priority queue and secondary indexes.
+ * <p>
+ * Writers take the write lock of a {@link StampedLock} and bump a version.
+ * {@link #getAll()} is served from an immutable sorted snapshot tagged with the
+ * version it was built from, so it takes no lock at all while nothing changes;
+ * after a write the first caller rebuilds it. Other queries hold the read lock
+ * only while collecting candidates and sort after releasing it, so readers run
+ * in parallel and writers wait for at most a copy, never a sort.
+ */
+public class TaskManager implements TaskQueries {
+    private static final class Snapshot {
+        final long version;
+        final List<Task> tasks;
+
+        Snapshot(long version, List<Task> tasks) {
+            this.version = version;
+            this.tasks = tasks;
+        }
+    }
+
+    private final IndexedTaskHeap queue;
+    private final TaskIndexes indexes;
+    private final TextIndex text;
+    private final StampedLock lock = new StampedLock();
+    // Bumped under the write lock by every mutation
+    private volatile long version;
+    private volatile int size;
+    // Sorted view of the queue; valid only while its version matches
+    private final AtomicReference<Snapshot> sortedView = new AtomicReference<>();
 
     public TaskManager() {
-        this.queue = new PriorityQueue<>(Task::urgencyCompareTo);
-        this.byId = new HashMap<>();
+        this.queue = new IndexedTaskHeap();
+        this.indexes = new TaskIndexes();
+        this.text = new TextIndex();
+    }
+
+    public void setAll(Collection<Task> tasks) {
+        long stamp = lock.writeLock();
+        try {
+            queue.clear();
+            indexes.clear();
+            text.clear();
+            queue.addAll(tasks);
+            for (Task t : tasks) {
+                indexes.put(t);
+                text.put(t);
+            }
+            changed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void add(Task task) {
+        long stamp = lock.writeLock();
+        try {
+            queue.add(task);
+            indexes.put(task);
+            text.put(task);
+            changed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void update(Task updated) {
+        long stamp = lock.writeLock();
+        try {
+            if (queue.update(updated)) {
+                indexes.put(updated);
+                text.put(updated);
+                changed();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void delete(String id) {
+        delete(TaskId.of(id));
+    }
+
+    public void delete(TaskId id) {
+        long stamp = lock.writeLock();
+        try {
+            if (queue.remove(id) != null) {
+                indexes.remove(id);
+                text.remove(id);
+                changed();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Bulk mutations apply under a single write lock acquisition and bump the
+    // version once. The returned ChangeSet feeds ReminderService.apply and
+    // TaskStorage.recordChanges.
+
+    /**
+     * Adds every task, replacing tasks with the same id. Within the batch the
+     * last task with a given id wins, and only that one is in the ChangeSet.
+     */
+    public ChangeSet addAll(Collection<Task> tasks) {
+        if (tasks.isEmpty()) return new ChangeSet(new ArrayList<>(), new ArrayList<>());
+        long stamp = lock.writeLock();
+        try {
+            queue.addAll(tasks);
+            for (Task t : tasks) {
+                indexes.put(t);
+                text.put(t);
+            }
+            changed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new ChangeSet(lastById(tasks), new ArrayList<>());
     }
 
-    public synchronized void setAll(Collection<Task> tasks) {
-        queue.clear();
-        byId.clear();
+    /**
+     * Replaces the tasks that are present by id; unknown ids are ignored. As in
+     * {@link #addAll}, the last task with a given id wins.
+     */
+    public ChangeSet updateAll(Collection<Task> tasks) {
+        List<Task> updated;
+        long stamp = lock.writeLock();
+        try {
+            updated = lastById(queue.updateAll(tasks));
+            for (Task t : updated) {
+                indexes.put(t);
+                text.put(t);
+            }
+            if (!updated.isEmpty()) changed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new ChangeSet(updated, new ArrayList<>());
+    }
+
+    /** Deletes every task matching the filter. */
+    public ChangeSet deleteWhere(Predicate<Task> filter) {
+        List<TaskId> deleted = new ArrayList<>();
+        long stamp = lock.writeLock();
+        try {
+            for (Task t : queue.removeIf(filter)) {
+                TaskId id = t.getTaskId();
+                indexes.remove(id);
+                text.remove(id);
+                deleted.add(id);
+            }
+            if (!deleted.isEmpty()) changed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new ChangeSet(new ArrayList<>(), deleted);
+    }
+
+    /** Marks every open task matching the filter as completed, in place. */
+    public ChangeSet completeWhere(Predicate<Task> filter) {
+        List<Task> completed = new ArrayList<>();
+        long stamp = lock.writeLock();
+        try {
+            for (Task t : indexes.open()) {
+                if (!filter.test(t)) continue;
+                t.setCompleted(true);
+                // Completion is not part of the urgency order, so the heap stays valid
+                indexes.put(t);
+                completed.add(t);
+            }
+            if (!completed.isEmpty()) changed();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new ChangeSet(completed, new ArrayList<>());
+    }
+
+    /** The tasks in order, dropping any task whose id occurs again later on. */
+    private static List<Task> lastById(Collection<Task> tasks) {
+        TaskIdIntMap last = new TaskIdIntMap(tasks.size());
+        int i = 0;
+        for (Task t : tasks) {
+            last.put(t.getTaskId(), i++);
+        }
+        if (last.size() == tasks.size()) return new ArrayList<>(tasks);
+        List<Task> result = new ArrayList<>(last.size());
+        i = 0;
         for (Task t : tasks) {
-            add(t);
+            if (last.get(t.getTaskId()) == i++) result.add(t);
+        }
+        return result;
+    }
+
+    /** Called under the write lock after every mutation. */
+    private void changed() {
+        version++;
+        size = queue.size();
+        sortedView.set(null);
+    }
+
+    /**
+     * Returns all tasks in urgency order. The list is an unmodifiable snapshot
+     * that is shared between calls until the next mutation.
+     */
+    @Override
+    public List<Task> getAll() {
+        Snapshot s = sortedView.get();
+        if (s != null && s.version == version) return s.tasks;
+
+        Task[] tasks;
+        long builtFrom;
+        long stamp = lock.readLock();
+        try {
+            builtFrom = version;
+            tasks = queue.toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        Arrays.sort(tasks, Task::urgencyCompareTo);
+        List<Task> list = Collections.unmodifiableList(Arrays.asList(tasks));
+        // A snapshot that lost a race with a writer is harmless: its version no longer matches
+        sortedView.set(new Snapshot(builtFrom, list));
+        return list;
+    }
+
+    /** Returns the most urgent task without sorting, or null if there are none. */
+    public Task peek() {
+        long stamp = lock.readLock();
+        try {
+            return queue.peek();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public Task getById(String id) {
+        return getById(TaskId.of(id));
+    }
+
+    @Override
+    public Task getById(TaskId id) {
+        long stamp = lock.readLock();
+        try {
+            return queue.get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public List<Task> filter(Predicate<Task> predicate) {
+        List<Task> result = new ArrayList<>();
+        for (Task t : getAll()) {
+            if (predicate.test(t)) result.add(t);
+        }
+        return result;
+    }
+
+    /**
+     * Tasks whose title or description has a word starting with each term of
+     * the query, most urgent first. A query without any terms matches everything.
+     */
+    public List<Task> search(String query) {
+        indexDeferredDescriptions();
+        List<Task> result;
+        long stamp = lock.readLock();
+        try {
+            Set<TaskId> ids = text.search(query);
+            if (ids == null) {
+                result = null;
+            } else {
+                result = new ArrayList<>(ids.size());
+                for (TaskId id : ids) {
+                    result.add(queue.get(id));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
         }
+        if (result == null) return getAll();
+        return sorted(result);
     }
 
-    public synchronized void add(Task task) {
-        queue.add(task);
-        byId.put(task.getId(), task);
+    /** Ids of the tasks {@link #search} would return, or null if the query has no terms. */
+    public Set<TaskId> searchIds(String query) {
+        indexDeferredDescriptions();
+        long stamp = lock.readLock();
+        try {
+            return text.search(query);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
-    public synchronized void update(Task updated) {
-        Task existing = byId.get(updated.getId());
-        if (existing != null) {
-            queue.remove(existing);
-            queue.add(updated);
-            byId.put(updated.getId(), updated);
+    /**
+     * Tokenises descriptions that were still unread when their task was added.
+     * Only the index changes, not the tasks, so the version stays put.
+     */
+    private void indexDeferredDescriptions() {
+        long stamp = lock.readLock();
+        try {
+            if (!text.hasDeferred()) return;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        stamp = lock.writeLock();
+        try {
+            text.indexDeferred();
+        } finally {
+            lock.unlockWrite(stamp);
         }
     }
 
-    public synchronized void delete(String id) {
-        Task existing = byId.remove(id);
-        if (existing != null) {
-            queue.remove(existing);
+    /** Open tasks due in {@code [from, to)}, most urgent first. */
+    @Override
+    public List<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        long stamp = lock.readLock();
+        List<Task> result;
+        try {
+            result = indexes.dueBetween(from, to);
+        } finally {
+            lock.unlockRead(stamp);
         }
+        return sorted(result);
     }
 
-    public synchronized List<Task> getAll() {
-        return new ArrayList<>(queue).stream()
-                .sorted(Task::urgencyCompareTo)
-                .collect(Collectors.toList());
+    /** Open tasks whose deadline is before {@code now}, most urgent first. */
+    @Override
+    public List<Task> overdueAsOf(LocalDateTime now) {
+        long stamp = lock.readLock();
+        List<Task> result;
+        try {
+            result = indexes.overdueAsOf(now);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return sorted(result);
+    }
+
+    /**
+     * Open tasks whose reminder fires in {@code (after, until]}, in trigger order.
+     * A null {@code after} includes every earlier reminder.
+     */
+    public List<Task> remindersBetween(LocalDateTime after, LocalDateTime until) {
+        long stamp = lock.readLock();
+        try {
+            return indexes.remindersBetween(after, until);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Open tasks with the given priority, most urgent first. */
+    @Override
+    public List<Task> byPriority(Priority priority) {
+        long stamp = lock.readLock();
+        List<Task> result;
+        try {
+            result = indexes.byPriority(priority);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return sorted(result);
+    }
+
+    @Override
+    public List<Task> open() {
+        long stamp = lock.readLock();
+        List<Task> result;
+        try {
+            result = indexes.open();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return sorted(result);
+    }
+
+    @Override
+    public List<Task> completed() {
+        long stamp = lock.readLock();
+        List<Task> result;
+        try {
+            result = indexes.completed();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return sorted(result);
     }
 
-    public synchronized Task getById(String id) {
-        return byId.get(id);
+    @Override
+    public int size() {
+        return size;
     }
 
-    public synchronized List<Task> filter(Predicate<Task> predicate) {
-        return getAll().stream().filter(predicate).collect(Collectors.toList());
+    private static List<Task> sorted(List<Task> tasks) {
+        tasks.sort(Task::urgencyCompareTo);
+        return tasks;
     }
 }
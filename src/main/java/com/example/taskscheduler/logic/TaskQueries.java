@@ -0,0 +1,34 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read side shared by {@link TaskManager} and {@link ColumnarTaskStore}, so
+ * callers that only query can run on either.
+ */
+public interface TaskQueries {
+    /** All tasks in urgency order. */
+    List<Task> getAll();
+
+    Task getById(TaskId id);
+
+    /** Open tasks due in {@code [from, to)}, most urgent first. */
+    List<Task> dueBetween(LocalDateTime from, LocalDateTime to);
+
+    /** Open tasks whose deadline is before {@code now}, most urgent first. */
+    List<Task> overdueAsOf(LocalDateTime now);
+
+    /** Open tasks with the given priority, most urgent first. */
+    List<Task> byPriority(Priority priority);
+
+    List<Task> open();
+
+    List<Task> completed();
+
+    int size();
+}
@@ -0,0 +1,148 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.TaskIdMap;
+
+import java.util.*;
+
+/**
+ * Inverted index over task titles and descriptions. Text is split into
+ * lower-cased runs of letters and digits; the term dictionary is sorted, so a
+ * prefix maps to a contiguous range of terms. Every query term is treated as a
+ * prefix, which lets the search box match while a word is still being typed,
+ * and multi-term queries are answered by intersecting the posting sets,
+ * smallest first.
+ * <p>
+ * Titles are indexed right away. A description that a lazy loader has not read
+ * yet (see {@link Task#isDescriptionLoaded()}) is set aside and only tokenised
+ * by {@link #indexDeferred()} when a search needs it, so loading a mapped
+ * snapshot does not pull in every description.
+ */
+class TextIndex {
+    private final NavigableMap<String, Set<TaskId>> postings = new TreeMap<>();
+    // Terms each task was indexed under, so it can be unlinked after being edited in place
+    private final TaskIdMap<String[]> termsById = new TaskIdMap<>();
+    // Tasks whose title is indexed but whose description is still unread
+    private final TaskIdMap<Task> deferred = new TaskIdMap<>();
+
+    void clear() {
+        postings.clear();
+        termsById.clear();
+        deferred.clear();
+    }
+
+    void put(Task task) {
+        TaskId id = task.getTaskId();
+        remove(id);
+        Set<String> terms = new HashSet<>();
+        tokenize(task.getTitle(), terms);
+        if (task.isDescriptionLoaded()) {
+            tokenize(task.getDescription(), terms);
+        } else {
+            deferred.put(id, task);
+        }
+        link(id, terms);
+    }
+
+    boolean hasDeferred() {
+        return !deferred.isEmpty();
+    }
+
+    /** Reads and indexes the descriptions set aside by {@link #put}. */
+    void indexDeferred() {
+        deferred.forEach((id, task) -> {
+            Set<String> terms = new HashSet<>();
+            tokenize(task.getDescription(), terms);
+            String[] old = termsById.get(id);
+            if (old != null) terms.addAll(Arrays.asList(old));
+            link(id, terms);
+        });
+        deferred.clear();
+    }
+
+    private void link(TaskId id, Set<String> terms) {
+        if (terms.isEmpty()) return;
+        for (String term : terms) {
+            postings.computeIfAbsent(term, k -> new HashSet<>()).add(id);
+        }
+        termsById.put(id, terms.toArray(new String[0]));
+    }
+
+    void remove(TaskId id) {
+        deferred.remove(id);
+        String[] terms = termsById.remove(id);
+        if (terms == null) return;
+        for (String term : terms) {
+            Set<TaskId> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Ids of tasks containing a word starting with every term of the query, or
+     * null if the query has no terms at all. Deferred descriptions must have
+     * been indexed first.
+     */
+    Set<TaskId> search(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms);
+        if (terms.isEmpty()) return null;
+
+        List<Collection<Set<TaskId>>> groups = new ArrayList<>(terms.size());
+        List<Integer> sizes = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Collection<Set<TaskId>> group = prefixRange(term).values();
+            int size = 0;
+            for (Set<TaskId> ids : group) size += ids.size();
+            if (size == 0) return new HashSet<>();
+            groups.add(group);
+            sizes.add(size);
+        }
+
+        // Start from the rarest term so the working set stays small
+        Integer[] order = new Integer[groups.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(sizes::get));
+
+        Set<TaskId> result = new HashSet<>();
+        for (Set<TaskId> ids : groups.get(order[0])) {
+            result.addAll(ids);
+        }
+        for (int i = 1; i < order.length && !result.isEmpty(); i++) {
+            Collection<Set<TaskId>> group = groups.get(order[i]);
+            result.removeIf(id -> !containsAny(group, id));
+        }
+        return result;
+    }
+
+    private SortedMap<String, Set<TaskId>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean containsAny(Collection<Set<TaskId>> group, TaskId id) {
+        for (Set<TaskId> ids : group) {
+            if (ids.contains(id)) return true;
+        }
+        return false;
+    }
+
+    static void tokenize(String text, Collection<String> out) {
+        if (text == null) return;
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            if (i > start) out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        }
+    }
+}
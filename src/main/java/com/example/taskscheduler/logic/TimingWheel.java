@@ -0,0 +1,235 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.TaskIdMap;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Hierarchical timing wheel keyed by task id.
+ * <p>
+ * Level 0 has {@value #SLOTS} slots of one tick each; every higher level has
+ * {@value #SLOTS} slots that each span a full turn of the level below. Entries
+ * are kept in intrusive doubly linked lists, so scheduling and cancelling are
+ * O(1), and a cancelled entry is unlinked right away instead of lingering
+ * until it would have fired. When a level-0 turn completes, the next slot of
+ * the level above is cascaded down. Deadlines beyond the top level park in its
+ * furthest slot and are re-placed each time that slot comes around.
+ * <p>
+ * A single ticker thread advances the wheel. Expired actions are handed to the
+ * dispatch executor, so a slow action never delays the ticks.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private static final class Entry {
+        final TaskId key;
+        final long expiryTick;
+        final Runnable action;
+        Entry prev;
+        Entry next;
+        Entry[] bucketOwner; // the slot array this entry is linked into
+        int slot;
+
+        Entry(TaskId key, long expiryTick, Runnable action) {
+            this.key = key;
+            this.expiryTick = expiryTick;
+            this.action = action;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Executor dispatcher;
+    private final Entry[][] wheels = new Entry[LEVELS][SLOTS];
+    private final TaskIdMap<Entry> entries = new TaskIdMap<>();
+    private final Thread ticker;
+    private long currentTick;
+    private volatile boolean stopped;
+
+    /**
+     * @param tickMillis resolution of the wheel
+     * @param dispatcher runs expired actions; should not be the ticker itself
+     */
+    public TimingWheel(String name, long tickMillis, Executor dispatcher) {
+        this(tickMillis, dispatcher, System.currentTimeMillis(), name);
+    }
+
+    /** A wheel with tick 0 at {@code startMillis} that only moves on {@link #advanceTo}, for tests. */
+    TimingWheel(long tickMillis, Executor dispatcher, long startMillis) {
+        this(tickMillis, dispatcher, startMillis, null);
+    }
+
+    private TimingWheel(long tickMillis, Executor dispatcher, long startMillis, String tickerName) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        this.tickMillis = tickMillis;
+        this.dispatcher = dispatcher;
+        this.startMillis = startMillis;
+        if (tickerName == null) {
+            this.ticker = null;
+        } else {
+            this.ticker = new Thread(this::runTicker, tickerName);
+            this.ticker.setDaemon(true);
+            this.ticker.start();
+        }
+    }
+
+    /**
+     * Schedules the action to run at the given wall-clock time, replacing any
+     * entry with the same key. Times in the past fire on the next tick.
+     */
+    public synchronized void schedule(TaskId key, long atEpochMillis, Runnable action) {
+        if (stopped) return;
+        Entry old = entries.remove(key);
+        if (old != null) unlink(old);
+        long tick = Math.max(currentTick + 1, ceilDiv(atEpochMillis - startMillis, tickMillis));
+        Entry e = new Entry(key, tick, action);
+        entries.put(key, e);
+        place(e);
+    }
+
+    /** Returns true if an entry with the key was pending. */
+    public synchronized boolean cancel(TaskId key) {
+        Entry e = entries.remove(key);
+        if (e == null) return false;
+        unlink(e);
+        return true;
+    }
+
+    public synchronized void cancelAll() {
+        for (Entry[] wheel : wheels) {
+            Arrays.fill(wheel, null);
+        }
+        entries.clear();
+    }
+
+    public synchronized boolean isScheduled(TaskId key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public void shutdown() {
+        stopped = true;
+        if (ticker != null) ticker.interrupt();
+        synchronized (this) {
+            cancelAll();
+        }
+    }
+
+    private void runTicker() {
+        while (!stopped) {
+            long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+            advanceTo(targetTick);
+            long nextAt = startMillis + (targetTick + 1) * tickMillis;
+            long sleep = nextAt - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Runs every tick up to and including {@code tick}. */
+    synchronized void advanceTo(long tick) {
+        while (currentTick < tick) {
+            advance();
+        }
+    }
+
+    /** The last tick that has run. */
+    synchronized long currentTick() {
+        return currentTick;
+    }
+
+    private void advance() {
+        currentTick++;
+        // Cascade higher levels whose slot boundary we just crossed
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) break;
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+            Entry e = detach(wheels[level], slot);
+            while (e != null) {
+                Entry next = e.next;
+                e.prev = e.next = null;
+                place(e);
+                e = next;
+            }
+        }
+        Entry e = detach(wheels[0], (int) (currentTick & MASK));
+        while (e != null) {
+            Entry next = e.next;
+            e.prev = e.next = null;
+            if (e.expiryTick <= currentTick) {
+                entries.remove(e.key);
+                try {
+                    dispatcher.execute(e.action);
+                } catch (RuntimeException ex) {
+                    ex.printStackTrace();
+                }
+            } else {
+                place(e);
+            }
+            e = next;
+        }
+    }
+
+    private void place(Entry e) {
+        long delta = e.expiryTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        long tick = e.expiryTick;
+        if (delta >= (1L << (SLOT_BITS * LEVELS))) {
+            // Beyond the wheel's range: park in the furthest top-level slot
+            tick = currentTick + (1L << (SLOT_BITS * LEVELS)) - (1L << (SLOT_BITS * (LEVELS - 1)));
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+        if (delta <= 0) {
+            // Due now (cascaded onto its exact tick): the level-0 pass of this tick fires it
+            slot = (int) (currentTick & MASK);
+        }
+        Entry[] wheel = wheels[level];
+        e.bucketOwner = wheel;
+        e.slot = slot;
+        e.prev = null;
+        e.next = wheel[slot];
+        if (e.next != null) e.next.prev = e;
+        wheel[slot] = e;
+    }
+
+    private void unlink(Entry e) {
+        if (e.bucketOwner == null) return;
+        if (e.prev != null) {
+            e.prev.next = e.next;
+        } else {
+            e.bucketOwner[e.slot] = e.next;
+        }
+        if (e.next != null) e.next.prev = e.prev;
+        e.prev = e.next = null;
+        e.bucketOwner = null;
+    }
+
+    private Entry detach(Entry[] wheel, int slot) {
+        Entry head = wheel[slot];
+        wheel[slot] = null;
+        for (Entry e = head; e != null; e = e.next) {
+            e.bucketOwner = null;
+        }
+        return head;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+}
@@ -15,6 +15,14 @@ public enum Priority {
         return weight;
     }
 
+    public static Priority fromWeight(int weight) {
+        switch (weight) {
+            case 3: return HIGH;
+            case 1: return LOW;
+            default: return MEDIUM;
+        }
+    }
+
     public static Priority fromString(String s) {
         if (s == null) return MEDIUM;
         switch (s.trim().toUpperCase()) {
@@ -1,22 +1,40 @@
 package com.example.taskscheduler.model;
 
+import com.example.taskscheduler.util.DateUtil;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 public class Task {
-    private String id;
+    private TaskId id;
     private String title;
     private String description;
     private Priority priority;
-    private LocalDateTime deadline; // may be null
-    private LocalDateTime createdAt;
+    // Epoch minutes of the local date-time (see DateUtil), DateUtil.NO_TIME if unset
+    private long deadline = DateUtil.NO_TIME;
+    private long createdAt = DateUtil.NO_TIME;
     private boolean completed;
     private Integer reminderMinutesBefore; // nullable; if present, schedule reminder
+    private String owner; // user or project the task belongs to; null in single-user stores
+    private int version; // bumped by every setter
 
     public Task() {
-        this.id = UUID.randomUUID().toString();
-        this.createdAt = LocalDateTime.now();
+        this.id = TaskId.random();
+        this.createdAt = DateUtil.toEpochMinutes(LocalDateTime.now());
+        this.priority = Priority.MEDIUM;
+        this.completed = false;
+    }
+
+    /**
+     * Creates a task with an existing id and no creation time, for loaders that
+     * fill in the remaining fields. Skips the random UUID generation of {@link #Task()}.
+     */
+    public Task(String id) {
+        this(TaskId.of(id));
+    }
+
+    public Task(TaskId id) {
+        this.id = id;
         this.priority = Priority.MEDIUM;
         this.completed = false;
     }
@@ -27,28 +45,48 @@ public class Task {
         this.title = title;
         this.description = description;
         this.priority = priority == null ? Priority.MEDIUM : priority;
-        this.deadline = deadline;
+        this.deadline = DateUtil.toEpochMinutes(deadline);
         this.reminderMinutesBefore = reminderMinutesBefore;
     }
 
     // Getters and setters
-    public String getId() { return id; }
+    public String getId() { return id == null ? null : id.toString(); }
+    public TaskId getTaskId() { return id; }
     public String getTitle() { return title; }
     public String getDescription() { return description; }
     public Priority getPriority() { return priority; }
-    public LocalDateTime getDeadline() { return deadline; }
-    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getDeadline() { return DateUtil.fromEpochMinutes(deadline); }
+    public LocalDateTime getCreatedAt() { return DateUtil.fromEpochMinutes(createdAt); }
     public boolean isCompleted() { return completed; }
     public Integer getReminderMinutesBefore() { return reminderMinutesBefore; }
+    public String getOwner() { return owner; }
+
+    public void setId(String id) { this.id = TaskId.of(id); version++; }
+    public void setTaskId(TaskId id) { this.id = id; version++; }
+    public void setTitle(String title) { this.title = title; version++; }
+    public void setDescription(String description) { this.description = description; version++; }
+    public void setPriority(Priority priority) { this.priority = priority; version++; }
+    public void setDeadline(LocalDateTime deadline) { this.deadline = DateUtil.toEpochMinutes(deadline); version++; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = DateUtil.toEpochMinutes(createdAt); version++; }
+    public void setCompleted(boolean completed) { this.completed = completed; version++; }
+    public void setReminderMinutesBefore(Integer reminderMinutesBefore) { this.reminderMinutesBefore = reminderMinutesBefore; version++; }
+    public void setOwner(String owner) { this.owner = owner; version++; }
+
+    // Primitive views of the timestamps, in epoch minutes; DateUtil.NO_TIME when unset
+    public boolean hasDeadline() { return deadline != DateUtil.NO_TIME; }
+    public long getDeadlineMinutes() { return deadline; }
+    public long getCreatedAtMinutes() { return createdAt; }
+    public void setDeadlineMinutes(long deadline) { this.deadline = deadline; version++; }
+    public void setCreatedAtMinutes(long createdAt) { this.createdAt = createdAt; version++; }
+
+    /** Modification counter of this instance, for caches of derived values such as formatted cells. */
+    public int getVersion() { return version; }
 
-    public void setId(String id) { this.id = id; }
-    public void setTitle(String title) { this.title = title; }
-    public void setDescription(String description) { this.description = description; }
-    public void setPriority(Priority priority) { this.priority = priority; }
-    public void setDeadline(LocalDateTime deadline) { this.deadline = deadline; }
-    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-    public void setCompleted(boolean completed) { this.completed = completed; }
-    public void setReminderMinutesBefore(Integer reminderMinutesBefore) { this.reminderMinutesBefore = reminderMinutesBefore; }
+    /**
+     * False while the description is still held by a lazy loader, so indexes can
+     * put off reading it instead of forcing every description in at load time.
+     */
+    public boolean isDescriptionLoaded() { return true; }
 
     // Urgency comparator helper
     public int urgencyCompareTo(Task other) {
@@ -56,14 +94,16 @@ public class Task {
         int p = Integer.compare(other.getPriority().weight(), this.getPriority().weight());
         if (p != 0) return p;
         // Earlier deadline first; nulls last
-        if (this.getDeadline() == null && other.getDeadline() != null) return 1;
-        if (this.getDeadline() != null && other.getDeadline() == null) return -1;
-        if (this.getDeadline() != null && other.getDeadline() != null) {
-            int d = this.getDeadline().compareTo(other.getDeadline());
-            if (d != 0) return d;
+        if (this.deadline != other.deadline) {
+            if (this.deadline == DateUtil.NO_TIME) return 1;
+            if (other.deadline == DateUtil.NO_TIME) return -1;
+            return Long.compare(this.deadline, other.deadline);
         }
         // Earlier created first
-        return this.getCreatedAt().compareTo(other.getCreatedAt());
+        int c = Long.compare(this.createdAt, other.createdAt);
+        if (c != 0) return c;
+        // Creation times only have minute precision, so break ties by id for a stable order
+        return this.id == null || other.id == null ? 0 : this.id.compareTo(other.id);
     }
 
     @Override
@@ -75,7 +115,7 @@ public class Task {
     }
 
     @Override
-    public int hashCode() { return Objects.hash(id); }
+    public int hashCode() { return Objects.hashCode(id); }
 
     @Override
     public String toString() {
@@ -0,0 +1,150 @@
+package com.example.taskscheduler.model;
+
+import java.util.UUID;
+
+/**
+ * Task identifier held as 128 bits instead of a 36-char string.
+ * <p>
+ * Ids in canonical lower-case UUID form, which is what {@link Task} generates,
+ * are stored as two longs and turned back into text only when asked for. Any
+ * other id found in older files (upper case, custom strings) keeps its
+ * original text so it round-trips unchanged; its two longs are then just a
+ * hash of that text. Ordering matches the ordering of the text forms.
+ */
+public final class TaskId implements Comparable<TaskId> {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    public static final int UUID_LENGTH = 36;
+
+    private final long hi;
+    private final long lo;
+    private final String raw; // original text of non-UUID ids, null otherwise
+    private String text;      // canonical text, built on first use
+
+    public TaskId(long hi, long lo) {
+        this.hi = hi;
+        this.lo = lo;
+        this.raw = null;
+    }
+
+    private TaskId(String raw) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < raw.length(); i++) {
+            h = (h ^ raw.charAt(i)) * 0x100000001b3L;
+        }
+        this.hi = raw.length();
+        this.lo = h;
+        this.raw = raw;
+        this.text = raw;
+    }
+
+    public static TaskId random() {
+        UUID u = UUID.randomUUID();
+        return new TaskId(u.getMostSignificantBits(), u.getLeastSignificantBits());
+    }
+
+    /** Returns null for null. */
+    public static TaskId of(String s) {
+        if (s == null) return null;
+        TaskId id = parseUuid(s);
+        return id != null ? id : new TaskId(s);
+    }
+
+    /** Like {@link #of(String)}, but only builds a String for ids that are not canonical UUIDs. */
+    public static TaskId of(CharSequence s) {
+        if (s == null) return null;
+        TaskId id = parseUuid(s);
+        return id != null ? id : new TaskId(s.toString());
+    }
+
+    private static TaskId parseUuid(CharSequence s) {
+        if (s.length() != UUID_LENGTH) return null;
+        long hi = 0;
+        long lo = 0;
+        int digits = 0;
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return null;
+                continue;
+            }
+            int v;
+            if (c >= '0' && c <= '9') {
+                v = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                v = c - 'a' + 10;
+            } else {
+                return null;
+            }
+            if (digits++ < 16) {
+                hi = hi << 4 | v;
+            } else {
+                lo = lo << 4 | v;
+            }
+        }
+        return new TaskId(hi, lo);
+    }
+
+    /** True if this id is a canonical UUID, i.e. fully described by its two longs. */
+    public boolean isUuid() {
+        return raw == null;
+    }
+
+    public long getMostSignificantBits() { return hi; }
+    public long getLeastSignificantBits() { return lo; }
+
+    /**
+     * Writes the canonical UUID text ({@value #UUID_LENGTH} chars) into {@code buf}.
+     * Only valid if {@link #isUuid()}.
+     */
+    public void formatTo(char[] buf, int off) {
+        int p = off;
+        for (int i = 0; i < 32; i++) {
+            if (i == 8 || i == 12 || i == 16 || i == 20) buf[p++] = '-';
+            long word = i < 16 ? hi : lo;
+            buf[p++] = HEX[(int) (word >>> (60 - 4 * (i & 15))) & 0xF];
+        }
+    }
+
+    @Override
+    public String toString() {
+        String s = text;
+        if (s == null) {
+            char[] buf = new char[UUID_LENGTH];
+            formatTo(buf, 0);
+            s = new String(buf);
+            text = s;
+        }
+        return s;
+    }
+
+    @Override
+    public int compareTo(TaskId o) {
+        if (raw == null && o.raw == null) {
+            int c = Long.compareUnsigned(hi, o.hi);
+            return c != 0 ? c : Long.compareUnsigned(lo, o.lo);
+        }
+        return toString().compareTo(o.toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskId)) return false;
+        TaskId other = (TaskId) o;
+        return hi == other.hi && lo == other.lo
+                && (raw == null ? other.raw == null : raw.equals(other.raw));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(hi, lo);
+    }
+
+    /** Hash of an id's two longs; shared with the open-addressing maps. */
+    public static int hash(long hi, long lo) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ h >>> 32);
+    }
+}
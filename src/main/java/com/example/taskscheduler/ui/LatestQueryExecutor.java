@@ -0,0 +1,77 @@
+package com.example.taskscheduler.ui;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs table queries on a background thread and publishes only the result of
+ * the most recent one. Submitting a query supersedes whatever is queued or
+ * running: the running one is interrupted and its result, if any, discarded.
+ * {@link #debounce} coalesces bursts of input events (e.g. typing) into one
+ * query once the input has been quiet for a while.
+ * <p>
+ * All methods must be called on the EDT; results are published on the EDT.
+ */
+class LatestQueryExecutor {
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TaskQuery");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong generation = new AtomicLong();
+    private final Timer debounceTimer;
+    private Runnable debounced;
+    private Future<?> running;
+
+    LatestQueryExecutor(int debounceMillis) {
+        debounceTimer = new Timer(debounceMillis, e -> {
+            Runnable r = debounced;
+            debounced = null;
+            if (r != null) r.run();
+        });
+        debounceTimer.setRepeats(false);
+    }
+
+    /** Runs {@code action} on the EDT once no other call has arrived for the debounce delay. */
+    void debounce(Runnable action) {
+        debounced = action;
+        debounceTimer.restart();
+    }
+
+    /**
+     * Runs the query in the background and hands its result to {@code publish}
+     * unless a newer query was submitted in the meantime. A null result is
+     * treated as cancelled.
+     */
+    <T> void submit(Callable<T> query, Consumer<T> publish) {
+        debounceTimer.stop();
+        debounced = null;
+        long gen = generation.incrementAndGet();
+        if (running != null) running.cancel(true);
+        running = worker.submit(() -> {
+            if (gen != generation.get()) return;
+            T result;
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                if (gen == generation.get()) e.printStackTrace();
+                return;
+            }
+            if (result == null || gen != generation.get()) return;
+            SwingUtilities.invokeLater(() -> {
+                if (gen == generation.get()) publish.accept(result);
+            });
+        });
+    }
+
+    void shutdown() {
+        debounceTimer.stop();
+        worker.shutdownNow();
+    }
+}
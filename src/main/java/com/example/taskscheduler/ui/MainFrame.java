@@ -1,10 +1,12 @@
 package com.example.taskscheduler.ui;
 
 import com.example.taskscheduler.data.TaskStorage;
+import com.example.taskscheduler.logic.ChangeSet;
 import com.example.taskscheduler.logic.ReminderService;
 import com.example.taskscheduler.logic.TaskManager;
 import com.example.taskscheduler.model.Priority;
 import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
 import com.example.taskscheduler.util.DateUtil;
 
 import javax.swing.*;
@@ -14,20 +16,19 @@ import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.nio.file.Path;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class MainFrame extends JFrame {
 
     private final TaskManager taskManager = new TaskManager();
     private final ReminderService reminderService = new ReminderService();
-    private final TaskStorage storage = new TaskStorage(Path.of(System.getProperty("user.home"),
-            ".smart-task-scheduler", "tasks.json"));
+    private final TaskStorage storage = new TaskStorage(TaskStorage.defaultPath(), true);
 
     private final TaskTableModel tableModel = new TaskTableModel();
     private final JTable table = new JTable(tableModel);
@@ -39,6 +40,7 @@ public class MainFrame extends JFrame {
             "Urgency (Queue)", "Deadline", "Priority"
     });
     private final JTextField searchField = new JTextField();
+    private final LatestQueryExecutor queries = new LatestQueryExecutor(150);
 
     public MainFrame() {
         super("Smart Task Scheduler");
@@ -46,17 +48,19 @@ public class MainFrame extends JFrame {
         setSize(950, 600);
         setLocationRelativeTo(null);
 
-        // Load data
-        List<Task> loaded = storage.load();
-        taskManager.setAll(loaded);
-        reminderService.rescheduleAll(taskManager.getAll());
+        // Load data; only large JSON files are parsed in parallel, the rest streams
+        storage.setParallelLoad(true);
+        storage.setLazyDescriptions(TaskStorage.canReplaceMappedFiles());
+        taskManager.setAll(loadOrStartEmpty());
+        reminderService.addSink(new SwingReminderSink(this));
+        reminderService.attach(taskManager);
 
         setLayout(new BorderLayout());
         add(buildTopBar(), BorderLayout.NORTH);
         add(new JScrollPane(table), BorderLayout.CENTER);
         add(buildButtons(), BorderLayout.SOUTH);
 
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         table.setAutoCreateRowSorter(false);
         table.setRowHeight(24);
 
@@ -70,6 +74,33 @@ public class MainFrame extends JFrame {
         });
     }
 
+    /**
+     * Loads the store. If it can't be read, offers to keep the file aside as
+     * {@code .corrupt} and start with an empty list; otherwise exits without
+     * touching it.
+     */
+    private List<Task> loadOrStartEmpty() {
+        try {
+            return storage.load();
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+            String message = e.getMessage() + "\n\nStart with an empty task list? The unreadable file will be kept"
+                    + " next to it with a .corrupt extension.";
+            int choice = JOptionPane.showConfirmDialog(null, message, "Could not load tasks",
+                    JOptionPane.YES_NO_OPTION, JOptionPane.ERROR_MESSAGE);
+            if (choice != JOptionPane.YES_OPTION) System.exit(1);
+            try {
+                storage.moveAsideUnreadable();
+            } catch (IOException moveFailed) {
+                moveFailed.printStackTrace();
+                JOptionPane.showMessageDialog(null, "Could not move the file aside: " + moveFailed.getMessage(),
+                        "Could not load tasks", JOptionPane.ERROR_MESSAGE);
+                System.exit(1);
+            }
+            return new ArrayList<>();
+        }
+    }
+
     private JPanel buildTopBar() {
         JPanel p = new JPanel(new BorderLayout(8, 8));
 
@@ -90,9 +121,9 @@ public class MainFrame extends JFrame {
         filterCombo.addActionListener(e -> refreshTable());
         sortCombo.addActionListener(e -> refreshTable());
         searchField.getDocument().addDocumentListener(new DocumentListener() {
-            public void changedUpdate(DocumentEvent e) { refreshTable(); }
-            public void removeUpdate(DocumentEvent e) { refreshTable(); }
-            public void insertUpdate(DocumentEvent e) { refreshTable(); }
+            public void changedUpdate(DocumentEvent e) { queries.debounce(MainFrame.this::refreshTable); }
+            public void removeUpdate(DocumentEvent e) { queries.debounce(MainFrame.this::refreshTable); }
+            public void insertUpdate(DocumentEvent e) { queries.debounce(MainFrame.this::refreshTable); }
         });
 
         return p;
@@ -128,7 +159,8 @@ public class MainFrame extends JFrame {
         if (t != null) {
             taskManager.add(t);
             reminderService.scheduleFor(t);
-            saveAndRefresh();
+            storage.recordAdd(t);
+            refreshTable();
         }
     }
 
@@ -143,35 +175,58 @@ public class MainFrame extends JFrame {
         if (updated != null) {
             taskManager.update(updated);
             reminderService.scheduleFor(updated);
-            saveAndRefresh();
+            storage.recordUpdate(updated);
+            refreshTable();
         }
     }
 
     private void onDelete() {
-        Task selected = getSelectedTask();
-        if (selected == null) {
-            JOptionPane.showMessageDialog(this, "Select a task to delete.");
+        List<Task> selected = getSelectedTasks();
+        if (selected.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Select one or more tasks to delete.");
             return;
         }
-        int confirm = JOptionPane.showConfirmDialog(this, "Delete selected task?", "Confirm",
-                JOptionPane.YES_NO_OPTION);
+        String message = selected.size() == 1 ? "Delete selected task?" : "Delete " + selected.size() + " selected tasks?";
+        int confirm = JOptionPane.showConfirmDialog(this, message, "Confirm", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            reminderService.cancel(selected.getId());
-            taskManager.delete(selected.getId());
-            saveAndRefresh();
+            Set<TaskId> ids = idsOf(selected);
+            apply(taskManager.deleteWhere(t -> ids.contains(t.getTaskId())));
         }
     }
 
     private void onComplete() {
-        Task selected = getSelectedTask();
-        if (selected == null) {
-            JOptionPane.showMessageDialog(this, "Select a task to mark complete.");
+        List<Task> selected = getSelectedTasks();
+        if (selected.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Select one or more tasks to mark complete.");
             return;
         }
-        selected.setCompleted(true);
-        taskManager.update(selected);
-        reminderService.cancel(selected.getId());
-        saveAndRefresh();
+        Set<TaskId> ids = idsOf(selected);
+        apply(taskManager.completeWhere(t -> ids.contains(t.getTaskId())));
+    }
+
+    /** Pushes a bulk change to reminders and storage, then refreshes the table. */
+    private void apply(ChangeSet changes) {
+        if (!changes.isEmpty()) {
+            reminderService.apply(changes);
+            storage.recordChanges(changes.getChanged(), changes.getDeleted());
+        }
+        refreshTable();
+    }
+
+    private static Set<TaskId> idsOf(List<Task> tasks) {
+        Set<TaskId> ids = new HashSet<>();
+        for (Task t : tasks) {
+            ids.add(t.getTaskId());
+        }
+        return ids;
+    }
+
+    private List<Task> getSelectedTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int row : table.getSelectedRows()) {
+            tasks.add(tableModel.getAt(row));
+        }
+        return tasks;
     }
 
     private Task getSelectedTask() {
@@ -181,103 +236,171 @@ public class MainFrame extends JFrame {
         return tableModel.getAt(modelRow);
     }
 
+    /** Re-runs the current filter, search and sort in the background. */
     private void refreshTable() {
-        Predicate<Task> filter = buildFilter();
-        List<Task> tasks = taskManager.filter(filter);
+        String filter = (String) filterCombo.getSelectedItem();
+        String query = searchField.getText() == null ? "" : searchField.getText();
         String sort = (String) sortCombo.getSelectedItem();
+        queries.submit(() -> runQuery(filter, query, sort), tableModel::setTasks);
+    }
+
+    /** Runs on the query thread; returns null if interrupted by a newer query. */
+    private List<Task> runQuery(String filter, String query, String sort) {
+        List<Task> tasks = queryTasks(filter, query);
+        if (Thread.currentThread().isInterrupted()) return null;
+        // Index queries already return tasks in urgency order.
         if ("Deadline".equals(sort)) {
-            tasks = tasks.stream().sorted((a,b) -> {
-                if (a.getDeadline() == null && b.getDeadline() != null) return 1;
-                if (a.getDeadline() != null && b.getDeadline() == null) return -1;
-                if (a.getDeadline() == null) return 0;
-                return a.getDeadline().compareTo(b.getDeadline());
-            }).collect(Collectors.toList());
+            tasks = new ArrayList<>(tasks);
+            tasks.sort(Comparator.comparingLong(t -> t.hasDeadline() ? t.getDeadlineMinutes() : Long.MAX_VALUE));
         } else if ("Priority".equals(sort)) {
-            tasks = tasks.stream().sorted((a,b) ->
-                    Integer.compare(b.getPriority().weight(), a.getPriority().weight())
-            ).collect(Collectors.toList());
-        } else {
-            tasks = tasks.stream().sorted(Task::urgencyCompareTo).collect(Collectors.toList());
+            tasks = new ArrayList<>(tasks);
+            tasks.sort(Comparator.comparingInt((Task t) -> t.getPriority().weight()).reversed());
         }
-        tableModel.setTasks(tasks);
+        return tasks;
     }
 
-    private Predicate<Task> buildFilter() {
-        String f = (String) filterCombo.getSelectedItem();
-        String q = searchField.getText() == null ? "" : searchField.getText().trim().toLowerCase();
-
-        Predicate<Task> base = t -> q.isEmpty() || (t.getTitle() != null && t.getTitle().toLowerCase().contains(q));
-
+    private List<Task> queryTasks(String f, String q) {
         LocalDate today = LocalDate.now();
+        List<Task> candidates;
         switch (f) {
             case "Today":
-                return t -> !t.isCompleted()
-                        && t.getDeadline() != null
-                        && t.getDeadline().toLocalDate().isEqual(today)
-                        && base.test(t);
+                candidates = taskManager.dueBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+                break;
             case "High Priority":
-                return t -> !t.isCompleted() && t.getPriority() == Priority.HIGH && base.test(t);
+                candidates = taskManager.byPriority(Priority.HIGH);
+                break;
             case "Upcoming (7 days)":
-                return t -> {
-                    if (t.isCompleted() || t.getDeadline() == null) return false;
-                    LocalDate d = t.getDeadline().toLocalDate();
-                    return (d.isEqual(today) || (d.isAfter(today) && !d.isAfter(today.plusDays(7)))) && base.test(t);
-                };
+                candidates = taskManager.dueBetween(today.atStartOfDay(), today.plusDays(8).atStartOfDay());
+                break;
             case "Overdue":
-                return t -> !t.isCompleted()
-                        && t.getDeadline() != null
-                        && t.getDeadline().isBefore(LocalDateTime.now())
-                        && base.test(t);
+                candidates = taskManager.overdueAsOf(LocalDateTime.now());
+                break;
             case "Completed":
-                return t -> t.isCompleted() && base.test(t);
+                candidates = taskManager.completed();
+                break;
             case "All":
             default:
-                return t -> base.test(t);
+                return taskManager.search(q);
         }
-    }
 
-    private void saveAndRefresh() {
-        storage.save(taskManager.getAll());
-        refreshTable();
+        Set<TaskId> matches = taskManager.searchIds(q);
+        if (matches == null) return candidates;
+        return candidates.stream()
+                .filter(t -> matches.contains(t.getTaskId()))
+                .collect(Collectors.toList());
     }
 
     private void onExit() {
-        storage.save(taskManager.getAll());
+        queries.shutdown();
+        storage.close();
         reminderService.shutdown();
         dispose();
         System.exit(0);
     }
 
+    /**
+     * Table model that applies each new result as a diff against the rows on
+     * screen: the unchanged prefix and suffix (matched by task id) are kept, and
+     * only the rows in between, plus rows whose task changed, produce events.
+     * Formatted cells are cached per row and recomputed when the task's
+     * {@link Task#getVersion() version} moves on. Dates come from a small cache
+     * by epoch minute, since many rows share a deadline or creation minute.
+     */
     private static class TaskTableModel extends AbstractTableModel {
         private final String[] cols = {"Title", "Priority", "Deadline", "Created", "Completed", "Reminder (min)"};
-        private List<Task> tasks = new ArrayList<>();
+        private Row[] rows = new Row[0];
+        private final long[] dateMinutes = new long[256];
+        private final String[] dateTexts = new String[256];
+
+        private static final class Row {
+            final Task task;
+            int version;
+            Object[] cells; // formatted at version, filled on first paint
+
+            Row(Task task) {
+                this.task = task;
+                this.version = task.getVersion();
+            }
+        }
 
         public void setTasks(List<Task> tasks) {
-            this.tasks = tasks;
-            fireTableDataChanged();
+            int oldN = rows.length;
+            int newN = tasks.size();
+            Row[] next = new Row[newN];
+            List<Integer> changed = new ArrayList<>();
+
+            int prefix = 0;
+            while (prefix < oldN && prefix < newN && sameId(rows[prefix], tasks.get(prefix))) {
+                next[prefix] = carry(rows[prefix], tasks.get(prefix), prefix, changed);
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < oldN - prefix && suffix < newN - prefix
+                    && sameId(rows[oldN - 1 - suffix], tasks.get(newN - 1 - suffix))) {
+                int i = newN - 1 - suffix;
+                next[i] = carry(rows[oldN - 1 - suffix], tasks.get(i), i, changed);
+                suffix++;
+            }
+            for (int i = prefix; i < newN - suffix; i++) {
+                next[i] = new Row(tasks.get(i));
+            }
+            rows = next;
+
+            int removed = oldN - prefix - suffix;
+            int inserted = newN - prefix - suffix;
+            int common = Math.min(removed, inserted);
+            if (common > 0) fireTableRowsUpdated(prefix, prefix + common - 1);
+            if (removed > inserted) fireTableRowsDeleted(prefix + common, prefix + removed - 1);
+            if (inserted > removed) fireTableRowsInserted(prefix + common, prefix + inserted - 1);
+            for (int row : changed) {
+                fireTableRowsUpdated(row, row);
+            }
+        }
+
+        private static boolean sameId(Row row, Task task) {
+            return Objects.equals(row.task.getTaskId(), task.getTaskId());
+        }
+
+        private static Row carry(Row row, Task task, int index, List<Integer> changed) {
+            if (row.task == task && row.version == task.getVersion()) return row;
+            changed.add(index);
+            return new Row(task);
         }
 
         public Task getAt(int row) {
-            if (row < 0 || row >= tasks.size()) return null;
-            return tasks.get(row);
+            if (row < 0 || row >= rows.length) return null;
+            return rows[row].task;
         }
 
-        @Override public int getRowCount() { return tasks.size(); }
+        @Override public int getRowCount() { return rows.length; }
         @Override public int getColumnCount() { return cols.length; }
         @Override public String getColumnName(int c) { return cols[c]; }
 
         @Override
         public Object getValueAt(int rowIndex, int columnIndex) {
-            Task t = tasks.get(rowIndex);
-            switch (columnIndex) {
-                case 0: return t.getTitle();
-                case 1: return t.getPriority().name();
-                case 2: return t.getDeadline() == null ? "" : DateUtil.formatDateTime(t.getDeadline());
-                case 3: return DateUtil.formatDateTime(t.getCreatedAt());
-                case 4: return t.isCompleted() ? "Yes" : "No";
-                case 5: return t.getReminderMinutesBefore() == null ? "" : t.getReminderMinutesBefore();
-                default: return "";
+            Row row = rows[rowIndex];
+            Task t = row.task;
+            if (row.cells == null || row.version != t.getVersion()) {
+                row.version = t.getVersion();
+                row.cells = new Object[] {
+                        t.getTitle(),
+                        t.getPriority().name(),
+                        t.hasDeadline() ? formatDate(t.getDeadlineMinutes()) : "",
+                        formatDate(t.getCreatedAtMinutes()),
+                        t.isCompleted() ? "Yes" : "No",
+                        t.getReminderMinutesBefore() == null ? "" : t.getReminderMinutesBefore()
+                };
+            }
+            return columnIndex < row.cells.length ? row.cells[columnIndex] : "";
+        }
+
+        private String formatDate(long minutes) {
+            int slot = Long.hashCode(minutes) & (dateTexts.length - 1);
+            if (dateTexts[slot] == null || dateMinutes[slot] != minutes) {
+                dateMinutes[slot] = minutes;
+                dateTexts[slot] = DateUtil.formatEpochMinutes(minutes);
             }
+            return dateTexts[slot];
         }
     }
 }
@@ -0,0 +1,79 @@
+package com.example.taskscheduler.ui;
+
+import com.example.taskscheduler.logic.ReminderBatch;
+import com.example.taskscheduler.logic.ReminderSink;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.util.DateUtil;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shows reminders as a single popup per batch. While a popup is open, further
+ * reminders are collected and shown together once it is closed, so a burst of
+ * overdue tasks never stacks up dialogs on the EDT.
+ */
+public class SwingReminderSink implements ReminderSink {
+    private static final int MAX_LINES = 15;
+
+    private final Component parent;
+    private final List<Task> pending = new ArrayList<>();
+    private int pendingDropped;
+    private boolean showing;
+
+    public SwingReminderSink(Component parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public void deliver(ReminderBatch batch) {
+        synchronized (this) {
+            pending.addAll(batch.getTasks());
+            pendingDropped += batch.getDropped();
+            if (showing) return;
+            showing = true;
+        }
+        SwingUtilities.invokeLater(this::showPending);
+    }
+
+    private void showPending() {
+        List<Task> tasks;
+        int dropped;
+        synchronized (this) {
+            if (pending.isEmpty() && pendingDropped == 0) {
+                showing = false;
+                return;
+            }
+            tasks = new ArrayList<>(pending);
+            dropped = pendingDropped;
+            pending.clear();
+            pendingDropped = 0;
+        }
+        JOptionPane.showMessageDialog(parent, message(tasks, dropped),
+                tasks.size() == 1 ? "Task Reminder" : "Task Reminders (" + tasks.size() + ")",
+                JOptionPane.INFORMATION_MESSAGE);
+        // Anything that arrived while the dialog was open
+        SwingUtilities.invokeLater(this::showPending);
+    }
+
+    private static String message(List<Task> tasks, int dropped) {
+        StringBuilder sb = new StringBuilder();
+        int shown = Math.min(tasks.size(), MAX_LINES);
+        for (int i = 0; i < shown; i++) {
+            Task t = tasks.get(i);
+            if (sb.length() > 0) sb.append('\n');
+            sb.append("Reminder: ").append(t.getTitle());
+            if (t.getDeadline() != null) {
+                sb.append("  (due ").append(DateUtil.formatDateTime(t.getDeadline())).append(')');
+            }
+        }
+        int more = tasks.size() - shown + dropped;
+        if (more > 0) {
+            sb.append("\n... and ").append(more).append(" more");
+        }
+        return sb.toString();
+    }
+}
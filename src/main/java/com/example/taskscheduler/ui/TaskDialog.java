@@ -92,6 +92,7 @@ public class TaskDialog extends JDialog {
         c.setCreatedAt(t.getCreatedAt());
         c.setCompleted(t.isCompleted());
         c.setReminderMinutesBefore(t.getReminderMinutesBefore());
+        c.setOwner(t.getOwner());
         return c;
     }
 
@@ -4,9 +4,26 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+/**
+ * Date handling for the fixed {@code yyyy-MM-dd HH:mm} pattern.
+ * <p>
+ * Besides the {@link LocalDateTime} helpers, timestamps can be handled as
+ * epoch minutes: the local wall-clock time counted in minutes from
+ * 1970-01-01 00:00, with {@link #NO_TIME} standing for "not set".
+ * {@link #formatEpochMinutes(long, char[], int)} and {@link #parseEpochMinutes}
+ * work on caller-supplied text and do not allocate; {@link #formatEpochMinutes(long)}
+ * returns a new string on every call, so hot paths should pass their own buffer.
+ */
 public class DateUtil {
     private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    /** Epoch-minute value meaning "no time". */
+    public static final long NO_TIME = Long.MIN_VALUE;
+    /** Length of a formatted {@code yyyy-MM-dd HH:mm} value. */
+    public static final int FORMATTED_LENGTH = 16;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
     public static String formatDateTime(LocalDateTime dt) {
         return dt.format(FMT);
     }
@@ -18,4 +35,129 @@ public class DateUtil {
             return null;
         }
     }
+
+    /** Returns {@link #NO_TIME} for null. Seconds are truncated. */
+    public static long toEpochMinutes(LocalDateTime dt) {
+        if (dt == null) return NO_TIME;
+        long days = daysFromCivil(dt.getYear(), dt.getMonthValue(), dt.getDayOfMonth());
+        return days * MINUTES_PER_DAY + dt.getHour() * 60 + dt.getMinute();
+    }
+
+    /** Returns null for {@link #NO_TIME}. */
+    public static LocalDateTime fromEpochMinutes(long minutes) {
+        if (minutes == NO_TIME) return null;
+        long days = Math.floorDiv(minutes, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(minutes, MINUTES_PER_DAY);
+        long ymd = civilFromDays(days);
+        return LocalDateTime.of((int) (ymd >> 9), (int) (ymd >> 5) & 0xF, (int) ymd & 0x1F,
+                minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /** Formats as {@code yyyy-MM-dd HH:mm}. Allocates the result; see the buffer overload. */
+    public static String formatEpochMinutes(long minutes) {
+        char[] buf = new char[FORMATTED_LENGTH];
+        if (formatEpochMinutes(minutes, buf, 0) < 0) {
+            return formatDateTime(fromEpochMinutes(minutes));
+        }
+        return new String(buf);
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd HH:mm} into {@code buf} at {@code off} and returns
+     * {@link #FORMATTED_LENGTH}, or returns -1 without writing anything if the
+     * year is outside 1..9999 (which the pattern renders as year-of-era or with
+     * a sign).
+     */
+    public static int formatEpochMinutes(long minutes, char[] buf, int off) {
+        long days = Math.floorDiv(minutes, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(minutes, MINUTES_PER_DAY);
+        long ymd = civilFromDays(days);
+        long year = ymd >> 9;
+        if (year < 1 || year > 9999) return -1;
+        digits((int) year, 4, buf, off);
+        buf[off + 4] = '-';
+        digits((int) (ymd >> 5) & 0xF, 2, buf, off + 5);
+        buf[off + 7] = '-';
+        digits((int) ymd & 0x1F, 2, buf, off + 8);
+        buf[off + 10] = ' ';
+        digits(minuteOfDay / 60, 2, buf, off + 11);
+        buf[off + 13] = ':';
+        digits(minuteOfDay % 60, 2, buf, off + 14);
+        return FORMATTED_LENGTH;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm} from {@code s[from, to)}, or returns
+     * {@link #NO_TIME} if it does not match. As with {@link #parseDateTime}, a
+     * day past the end of its month is moved back to the last day.
+     */
+    public static long parseEpochMinutes(CharSequence s, int from, int to) {
+        if (to - from != FORMATTED_LENGTH) return NO_TIME;
+        if (s.charAt(from + 4) != '-' || s.charAt(from + 7) != '-'
+                || s.charAt(from + 10) != ' ' || s.charAt(from + 13) != ':') {
+            return NO_TIME;
+        }
+        int year = number(s, from, 4);
+        int month = number(s, from + 5, 2);
+        int day = number(s, from + 8, 2);
+        int hour = number(s, from + 11, 2);
+        int minute = number(s, from + 14, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return NO_TIME;
+        }
+        day = Math.min(day, monthLength(year, month));
+        return daysFromCivil(year, month, day) * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    private static int number(CharSequence s, int from, int width) {
+        int v = 0;
+        for (int i = from; i < from + width; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static void digits(int v, int width, char[] buf, int off) {
+        for (int i = off + width - 1; i >= off; i--) {
+            buf[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+    }
+
+    private static int monthLength(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    // Proleptic Gregorian conversions (H. Hinnant's days_from_civil / civil_from_days)
+
+    private static long daysFromCivil(long y, int m, int d) {
+        y -= m <= 2 ? 1 : 0;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (m + (m > 2 ? -3 : 9)) + 2) / 5 + d - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /** Packs year, month and day as {@code year << 9 | month << 5 | day}. */
+    private static long civilFromDays(long z) {
+        z += 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long y = yoe + era * 400;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long d = doy - (153 * mp + 2) / 5 + 1;
+        long m = mp < 10 ? mp + 3 : mp - 9;
+        if (m <= 2) y++;
+        return y << 9 | m << 5 | d;
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.taskscheduler.util;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a task document is not well-formed. Carries the character offset
+ * (from the start of the input) at which the problem was detected.
+ */
+public class JsonParseException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long offset;
+
+    public JsonParseException(String message, long offset) {
+        super(message + " at offset " + offset);
+        this.offset = offset;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+}
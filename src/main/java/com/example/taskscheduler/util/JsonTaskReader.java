@@ -0,0 +1,459 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Single-pass reader for the task array written by {@link JsonUtil}.
+ * Reads through a fixed char buffer and hands out one {@link Task} per call to
+ * {@link #next()}, so memory use does not grow with the size of the document.
+ * Unknown fields are skipped. Raw control characters inside strings are
+ * tolerated because older versions wrote tabs unescaped; anything else that is
+ * not valid JSON raises a {@link JsonParseException} with the offset of the
+ * offending character.
+ */
+public class JsonTaskReader implements Closeable {
+
+    private static final String[] FIELDS = {
+            "id", "title", "description", "priority", "deadline",
+            "createdAt", "completed", "reminderMinutesBefore", "owner"
+    };
+    private static final int ID = 0, TITLE = 1, DESCRIPTION = 2, PRIORITY = 3, DEADLINE = 4,
+            CREATED_AT = 5, COMPLETED = 6, REMINDER = 7, OWNER = 8;
+
+    private static final int BEFORE_ARRAY = 0, FIRST_ELEMENT = 1, NEXT_ELEMENT = 2, DONE = 3;
+
+    private final Reader in;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int limit;
+    private long bufStart; // absolute offset of buf[0]
+    private final StringBuilder sb = new StringBuilder(64);
+    private int state = BEFORE_ARRAY;
+
+    public JsonTaskReader(Reader in) {
+        this(in, 0);
+    }
+
+    /** For input that starts {@code startOffset} characters into a larger document; error offsets count from there. */
+    public JsonTaskReader(Reader in, long startOffset) {
+        this.in = in;
+        this.bufStart = startOffset;
+    }
+
+    /** Returns the next task in the array, or null once the closing bracket has been read. */
+    public Task next() throws IOException {
+        switch (state) {
+            case BEFORE_ARRAY: {
+                int c = skipWhitespace();
+                if (c == -1) {
+                    // Empty document: treat as an empty store
+                    state = DONE;
+                    return null;
+                }
+                expect('[');
+                state = FIRST_ELEMENT;
+                if (skipWhitespace() == ']') {
+                    pos++;
+                    finish();
+                    return null;
+                }
+                break;
+            }
+            case NEXT_ELEMENT: {
+                int c = skipWhitespace();
+                if (c == ']') {
+                    pos++;
+                    finish();
+                    return null;
+                }
+                expect(',');
+                break;
+            }
+            case DONE:
+                return null;
+            default:
+                break;
+        }
+        state = NEXT_ELEMENT;
+        return readTask();
+    }
+
+    /**
+     * Skips whitespace and consumes one character, or returns -1 at end of input.
+     * Line-oriented formats use this to read a tag written before each object.
+     */
+    public int readTag() throws IOException {
+        if (skipWhitespace() == -1) return -1;
+        return buf[pos++];
+    }
+
+    /** Skips whitespace and returns true if no input is left. */
+    public boolean atEnd() throws IOException {
+        return skipWhitespace() == -1;
+    }
+
+    /** Reads a single task object at the current position, outside of any array. */
+    public Task readObject() throws IOException {
+        return readTask();
+    }
+
+    /**
+     * Reads comma-separated task objects up to the end of input, i.e. the inside
+     * of an array without its brackets.
+     */
+    public void readElements(Collection<Task> into) throws IOException {
+        while (true) {
+            into.add(readTask());
+            int c = skipWhitespace();
+            if (c == -1) return;
+            if (c != ',') throw error("Expected ',' or ']'");
+            pos++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void finish() throws IOException {
+        state = DONE;
+        if (skipWhitespace() != -1) {
+            throw error("Unexpected content after end of array");
+        }
+    }
+
+    private Task readTask() throws IOException {
+        skipWhitespace();
+        expect('{');
+        Task t = new Task((TaskId) null);
+        if (skipWhitespace() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                expect('"');
+                readStringBody();
+                int field = fieldCode();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                readField(t, field);
+                int c = skipWhitespace();
+                if (c == ',') {
+                    pos++;
+                } else if (c == '}') {
+                    pos++;
+                    break;
+                } else {
+                    throw error("Expected ',' or '}' in object");
+                }
+            }
+        }
+        if (t.getTaskId() == null) t.setTaskId(TaskId.random());
+        if (t.getCreatedAtMinutes() == DateUtil.NO_TIME) {
+            // If older file missing createdAt, set now
+            t.setCreatedAt(LocalDateTime.now());
+        }
+        if (t.getPriority() == null) t.setPriority(Priority.MEDIUM);
+        return t;
+    }
+
+    private void readField(Task t, int field) throws IOException {
+        switch (field) {
+            case ID:
+                expect('"');
+                readStringBody();
+                t.setTaskId(TaskId.of(sb));
+                break;
+            case TITLE:
+                t.setTitle(readNullableString());
+                break;
+            case DESCRIPTION:
+                t.setDescription(readNullableString());
+                break;
+            case PRIORITY:
+                t.setPriority(Priority.fromString(readNullableString()));
+                break;
+            case DEADLINE:
+                t.setDeadlineMinutes(readDateTime());
+                break;
+            case CREATED_AT:
+                t.setCreatedAtMinutes(readDateTime());
+                break;
+            case COMPLETED:
+                t.setCompleted(readBoolean());
+                break;
+            case REMINDER:
+                t.setReminderMinutesBefore(readNullableInt());
+                break;
+            case OWNER:
+                t.setOwner(readNullableString());
+                break;
+            default:
+                skipValue();
+        }
+    }
+
+    private int fieldCode() {
+        outer:
+        for (int i = 0; i < FIELDS.length; i++) {
+            String f = FIELDS[i];
+            if (f.length() != sb.length()) continue;
+            for (int j = 0; j < f.length(); j++) {
+                if (f.charAt(j) != sb.charAt(j)) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        readStringBody();
+        return sb.toString();
+    }
+
+    private String readNullableString() throws IOException {
+        if (peek() == 'n') {
+            readLiteral("null");
+            return null;
+        }
+        return readString();
+    }
+
+    /** Reads a date-time in epoch minutes, {@link DateUtil#NO_TIME} for null or "". */
+    private long readDateTime() throws IOException {
+        if (peek() == 'n') {
+            readLiteral("null");
+            return DateUtil.NO_TIME;
+        }
+        long start = offset();
+        expect('"');
+        readStringBody();
+        if (sb.length() == 0) return DateUtil.NO_TIME;
+        long minutes = DateUtil.parseEpochMinutes(sb, 0, sb.length());
+        if (minutes == DateUtil.NO_TIME) {
+            // Not the plain pattern (e.g. a signed year): let the formatter decide
+            LocalDateTime dt = DateUtil.parseDateTime(sb.toString());
+            if (dt == null) {
+                throw new JsonParseException("Invalid date-time \"" + sb + "\"", start);
+            }
+            minutes = DateUtil.toEpochMinutes(dt);
+        }
+        return minutes;
+    }
+
+    private boolean readBoolean() throws IOException {
+        int c = peek();
+        if (c == 't') {
+            readLiteral("true");
+            return true;
+        }
+        if (c == 'f') {
+            readLiteral("false");
+            return false;
+        }
+        throw error("Expected true or false");
+    }
+
+    private Integer readNullableInt() throws IOException {
+        int c = peek();
+        if (c == 'n') {
+            readLiteral("null");
+            return null;
+        }
+        long start = offset();
+        boolean negative = false;
+        if (c == '-') {
+            negative = true;
+            pos++;
+            c = peek();
+        }
+        if (c < '0' || c > '9') throw error("Expected integer");
+        long v = 0;
+        while (c >= '0' && c <= '9') {
+            v = v * 10 + (c - '0');
+            if (v > (long) Integer.MAX_VALUE + 1) {
+                throw new JsonParseException("Integer out of range", start);
+            }
+            pos++;
+            c = peek();
+        }
+        if (c == '.' || c == 'e' || c == 'E') throw error("Expected integer");
+        if (negative) v = -v;
+        if (v > Integer.MAX_VALUE) throw new JsonParseException("Integer out of range", start);
+        return (int) v;
+    }
+
+    /** Reads the rest of a string whose opening quote was consumed into {@link #sb}. */
+    private void readStringBody() throws IOException {
+        sb.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) throw error("Unterminated string");
+            int runStart = pos;
+            while (pos < limit) {
+                char c = buf[pos];
+                if (c == '"' || c == '\\') break;
+                pos++;
+            }
+            sb.append(buf, runStart, pos - runStart);
+            if (pos == limit) continue;
+            char c = buf[pos];
+            if (c == '"') {
+                pos++;
+                return;
+            }
+            pos++;
+            sb.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u': {
+                int v = 0;
+                for (int i = 0; i < 4; i++) {
+                    int h = Character.digit(read(), 16);
+                    if (h < 0) {
+                        pos--;
+                        throw error("Invalid \\u escape");
+                    }
+                    v = (v << 4) | h;
+                }
+                return (char) v;
+            }
+            case -1:
+                throw error("Unterminated string");
+            default:
+                pos--;
+                throw error("Invalid escape character");
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = peek();
+        switch (c) {
+            case '"':
+                pos++;
+                readStringBody();
+                return;
+            case '{':
+            case '[': {
+                pos++;
+                char close = c == '{' ? '}' : ']';
+                if (skipWhitespace() == close) {
+                    pos++;
+                    return;
+                }
+                while (true) {
+                    skipWhitespace();
+                    if (close == '}') {
+                        expect('"');
+                        readStringBody();
+                        skipWhitespace();
+                        expect(':');
+                        skipWhitespace();
+                    }
+                    skipValue();
+                    int n = skipWhitespace();
+                    pos++;
+                    if (n == close) return;
+                    if (n != ',') {
+                        pos--;
+                        throw error("Expected ',' or '" + close + "'");
+                    }
+                }
+            }
+            case 't':
+                readLiteral("true");
+                return;
+            case 'f':
+                readLiteral("false");
+                return;
+            case 'n':
+                readLiteral("null");
+                return;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                        pos++;
+                        c = peek();
+                    }
+                    return;
+                }
+                throw error("Unexpected character");
+        }
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (peek() != literal.charAt(i)) throw error("Expected " + literal);
+            pos++;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = peek();
+        if (c != expected) {
+            throw error(c == -1 ? "Unexpected end of input, expected '" + expected + "'"
+                    : "Expected '" + expected + "'");
+        }
+        pos++;
+    }
+
+    /** Skips whitespace and returns the next character without consuming it, or -1 at end of input. */
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) return -1;
+            char c = buf[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            pos++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        bufStart += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        limit = n;
+        return true;
+    }
+
+    private long offset() {
+        return bufStart + pos;
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(message, offset());
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming counterpart of {@link JsonTaskReader}. Encodes tasks straight into
+ * a fixed char buffer that is handed to the underlying writer whenever it
+ * fills up, so a save never holds more than one buffer of output in memory.
+ * Strings are escaped char by char into the buffer without temporary copies.
+ */
+public class JsonTaskWriter implements Closeable, Flushable {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private boolean first = true;
+
+    public JsonTaskWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void beginArray() throws IOException {
+        write('[');
+        first = true;
+    }
+
+    public void endArray() throws IOException {
+        write(']');
+    }
+
+    /** Writes one task object, preceded by a comma if it is not the first element. */
+    public void write(Task t) throws IOException {
+        if (!first) write(',');
+        first = false;
+        writeObject(t);
+    }
+
+    /** Writes one task object with no separator, e.g. for line-oriented formats. */
+    public void writeObject(Task t) throws IOException {
+        writeRaw("{\"id\":");
+        writeId(t.getTaskId());
+        writeRaw(",\"title\":");
+        writeString(t.getTitle());
+        writeRaw(",\"description\":");
+        writeString(t.getDescription());
+        writeRaw(",\"priority\":\"");
+        writeRaw(t.getPriority().name());
+        writeRaw("\",\"deadline\":");
+        writeDateTime(t.getDeadlineMinutes());
+        writeRaw(",\"createdAt\":");
+        writeDateTime(t.getCreatedAtMinutes());
+        writeRaw(",\"completed\":");
+        writeRaw(t.isCompleted() ? "true" : "false");
+        writeRaw(",\"reminderMinutesBefore\":");
+        if (t.getReminderMinutesBefore() == null) {
+            writeRaw("null");
+        } else {
+            writeInt(t.getReminderMinutesBefore());
+        }
+        if (t.getOwner() != null) {
+            // Only written when set, so single-user files keep their old shape
+            writeRaw(",\"owner\":");
+            writeString(t.getOwner());
+        }
+        write('}');
+    }
+
+    /** Writes an object holding only the id, used as a tombstone by line-oriented formats. */
+    public void writeIdObject(TaskId id) throws IOException {
+        writeRaw("{\"id\":");
+        writeId(id);
+        write('}');
+    }
+
+    private void writeId(TaskId id) throws IOException {
+        if (id == null || !id.isUuid()) {
+            writeString(id == null ? null : id.toString());
+            return;
+        }
+        if (pos + TaskId.UUID_LENGTH + 2 > buf.length) drain();
+        buf[pos++] = '"';
+        id.formatTo(buf, pos);
+        pos += TaskId.UUID_LENGTH;
+        buf[pos++] = '"';
+    }
+
+    /** Writes a quoted, escaped JSON string; null is written as an empty string. */
+    public void writeString(String s) throws IOException {
+        write('"');
+        if (s != null) {
+            for (int i = 0, n = s.length(); i < n; i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"': write('\\'); write('"'); break;
+                    case '\\': write('\\'); write('\\'); break;
+                    case '\n': write('\\'); write('n'); break;
+                    case '\r': write('\\'); write('r'); break;
+                    case '\t': write('\\'); write('t'); break;
+                    case '\b': write('\\'); write('b'); break;
+                    case '\f': write('\\'); write('f'); break;
+                    default:
+                        if (c < 0x20) {
+                            writeUnicodeEscape(c);
+                        } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                            write(c);
+                            write(s.charAt(++i));
+                        } else if (Character.isSurrogate(c)) {
+                            // Unpaired surrogates can't be encoded as UTF-8; escaping keeps them lossless
+                            writeUnicodeEscape(c);
+                        } else {
+                            write(c);
+                        }
+                }
+            }
+        }
+        write('"');
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        write('\\');
+        write('u');
+        write(HEX[(c >> 12) & 0xF]);
+        write(HEX[(c >> 8) & 0xF]);
+        write(HEX[(c >> 4) & 0xF]);
+        write(HEX[c & 0xF]);
+    }
+
+    /** Writes a raw character, e.g. a line separator between objects. */
+    public void write(char c) throws IOException {
+        if (pos == buf.length) drain();
+        buf[pos++] = c;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        out.close();
+    }
+
+    private void writeDateTime(long minutes) throws IOException {
+        if (minutes == DateUtil.NO_TIME) {
+            writeRaw("null");
+            return;
+        }
+        if (pos + DateUtil.FORMATTED_LENGTH + 2 > buf.length) drain();
+        buf[pos] = '"';
+        int n = DateUtil.formatEpochMinutes(minutes, buf, pos + 1);
+        if (n < 0) {
+            // Year outside 1..9999
+            writeString(DateUtil.formatEpochMinutes(minutes));
+            return;
+        }
+        pos += n + 1;
+        buf[pos++] = '"';
+    }
+
+    private void writeDigits(int v, int width) throws IOException {
+        if (pos + width > buf.length) drain();
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        pos += width;
+    }
+
+    private void writeInt(int v) throws IOException {
+        if (v < 0) {
+            write('-');
+            if (v == Integer.MIN_VALUE) {
+                writeRaw("2147483648");
+                return;
+            }
+            v = -v;
+        }
+        int width = 1;
+        for (int x = v; x >= 10; x /= 10) width++;
+        writeDigits(v, width);
+    }
+
+    private void writeRaw(String s) throws IOException {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.taskscheduler.util;
 
-import com.example.taskscheduler.model.Priority;
 import com.example.taskscheduler.model.Task;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Minimal JSON utility specialized for Task serialization without external dependencies.
@@ -22,153 +30,62 @@ public class JsonUtil {
     }
 
     public static String toJson(List<Task> tasks) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        boolean first = true;
+        StringWriter sw = new StringWriter();
+        try {
+            writeTasks(tasks, sw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sw.toString();
+    }
+
+    /** Streams the tasks as a JSON array to the writer and flushes it. */
+    public static void writeTasks(Iterable<Task> tasks, Writer writer) throws IOException {
+        JsonTaskWriter out = new JsonTaskWriter(writer);
+        out.beginArray();
         for (Task t : tasks) {
-            if (!first) sb.append(",");
-            first = false;
-            sb.append("{");
-            sb.append("\"id\":\"").append(escape(t.getId())).append("\",");
-            sb.append("\"title\":\"").append(escape(t.getTitle())).append("\",");
-            sb.append("\"description\":\"").append(escape(t.getDescription())).append("\",");
-            sb.append("\"priority\":\"").append(t.getPriority().name()).append("\",");
-            sb.append("\"deadline\":").append(t.getDeadline() == null ? "null" : "\"" + escape(DateUtil.formatDateTime(t.getDeadline())) + "\"").append(",");
-            sb.append("\"createdAt\":\"").append(escape(DateUtil.formatDateTime(t.getCreatedAt()))).append("\",");
-            sb.append("\"completed\":").append(t.isCompleted()).append(",");
-            sb.append("\"reminderMinutesBefore\":").append(t.getReminderMinutesBefore() == null ? "null" : t.getReminderMinutesBefore());
-            sb.append("}");
+            out.write(t);
         }
-        sb.append("]");
-        return sb.toString();
+        out.endArray();
+        out.flush();
+    }
+
+    /** Streams the tasks as a UTF-8 encoded JSON array to the channel. */
+    public static void writeTasks(Iterable<Task> tasks, WritableByteChannel channel) throws IOException {
+        writeTasks(tasks, Channels.newWriter(channel, StandardCharsets.UTF_8));
     }
 
     public static List<Task> parseTasks(String json) {
-        // Very small hand-rolled parser specialized to our generated format.
-        // Assumes well-formed JSON produced by toJson().
         List<Task> list = new ArrayList<>();
         if (json == null || json.trim().isEmpty()) return list;
-
-        String s = json.trim();
-        if (!s.startsWith("[") || !s.endsWith("]")) return list;
-        s = s.substring(1, s.length() - 1).trim();
-        if (s.isEmpty()) return list;
-
-        // Split objects at top-level commas
-        int depth = 0;
-        StringBuilder cur = new StringBuilder();
-        List<String> objs = new ArrayList<>();
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (c == '{') depth++;
-            if (c == '}') depth--;
-            if (c == ',' && depth == 0) {
-                objs.add(cur.toString());
-                cur.setLength(0);
-            } else {
-                cur.append(c);
-            }
+        try {
+            return parseTasks(new StringReader(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        if (cur.length() > 0) objs.add(cur.toString());
-
-        for (String obj : objs) {
-            String o = obj.trim();
-            if (!o.startsWith("{") || !o.endsWith("}")) continue;
-            o = o.substring(1, o.length() - 1);
+    }
 
-            Task t = new Task();
-            // Split fields by commas not inside quotes
-            List<String> fields = splitTopLevel(o);
-            for (String f : fields) {
-                int idx = f.indexOf(':');
-                if (idx < 0) continue;
-                String key = stripQuotes(f.substring(0, idx).trim());
-                String val = f.substring(idx + 1).trim();
-                switch (key) {
-                    case "id":
-                        t.setId(stripQuotes(val));
-                        break;
-                    case "title":
-                        t.setTitle(unescape(stripQuotes(val)));
-                        break;
-                    case "description":
-                        t.setDescription(unescape(stripQuotes(val)));
-                        break;
-                    case "priority":
-                        t.setPriority(Priority.fromString(stripQuotes(val)));
-                        break;
-                    case "deadline":
-                        if ("null".equals(val)) {
-                            t.setDeadline(null);
-                        } else {
-                            String dv = unescape(stripQuotes(val));
-                            t.setDeadline(DateUtil.parseDateTime(dv));
-                        }
-                        break;
-                    case "createdAt":
-                        String cv = unescape(stripQuotes(val));
-                        // createdAt always present in our format
-                        t.setCreatedAt(DateUtil.parseDateTime(cv));
-                        break;
-                    case "completed":
-                        t.setCompleted("true".equalsIgnoreCase(val));
-                        break;
-                    case "reminderMinutesBefore":
-                        if ("null".equals(val)) {
-                            t.setReminderMinutesBefore(null);
-                        } else {
-                            try {
-                                t.setReminderMinutesBefore(Integer.parseInt(val));
-                            } catch (NumberFormatException ignored) {
-                                t.setReminderMinutesBefore(null);
-                            }
-                        }
-                        break;
-                }
-            }
-            if (t.getCreatedAt() == null) {
-                // If older file missing createdAt, set now
-                t.setCreatedAt(java.time.LocalDateTime.now());
-            }
-            if (t.getPriority() == null) t.setPriority(com.example.taskscheduler.model.Priority.MEDIUM);
+    /**
+     * Streams the task array from the reader. Malformed input raises a
+     * {@link JsonParseException} rather than dropping objects.
+     */
+    public static List<Task> parseTasks(Reader reader) throws IOException {
+        List<Task> list = new ArrayList<>();
+        JsonTaskReader in = new JsonTaskReader(reader);
+        Task t;
+        while ((t = in.next()) != null) {
             list.add(t);
         }
-
         return list;
     }
 
-    private static List<String> splitTopLevel(String s) {
-        List<String> parts = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-        boolean inStr = false;
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (c == '"' && (i == 0 || s.charAt(i - 1) != '\\')) {
-                inStr = !inStr;
-            }
-            if (c == ',' && !inStr) {
-                parts.add(cur.toString());
-                cur.setLength(0);
-            } else {
-                cur.append(c);
-            }
-        }
-        if (cur.length() > 0) parts.add(cur.toString());
-        return parts;
-    }
-
-    private static String stripQuotes(String s) {
-        s = s.trim();
-        if (s.startsWith("\"") && s.endsWith("\"")) {
-            return s.substring(1, s.length() - 1);
-        }
-        return s;
-    }
-
-    private static String unescape(String s) {
-        return s.replace("\\n", "\n")
-                .replace("\\r", "\r")
-                .replace("\\\"", "\"")
-                .replace("\\\\", "\\");
+    /**
+     * Parses a task array held in {@code json[off, off + len)} on the common
+     * fork-join pool. Returns the same list as {@link #parseTasks(Reader)}, in
+     * document order; worth it for documents of a megabyte or more.
+     */
+    public static List<Task> parseTasksParallel(char[] json, int off, int len) throws IOException {
+        return new ParallelTaskParser(json, off, len, ParallelTaskParser.DEFAULT_CHUNK_SIZE)
+                .parse(ForkJoinPool.commonPool());
     }
 }
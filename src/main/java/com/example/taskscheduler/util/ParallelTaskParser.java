@@ -0,0 +1,178 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.Task;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses a task array held in memory on a fork-join pool.
+ * <p>
+ * A single pass over the characters finds the commas that separate top-level
+ * array elements, skipping over strings (and escapes inside them) and nested
+ * values, and cuts the array into chunks of roughly {@code chunkSize}
+ * characters at those commas. Each chunk is then parsed by its own
+ * {@link JsonTaskReader}. The scan only tracks nesting; well-formedness is
+ * still checked by the readers, and error offsets refer to the whole input.
+ */
+class ParallelTaskParser {
+    static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+    private final char[] json;
+    private final int off;
+    private final int end;
+    private final int chunkSize;
+
+    // Chunk i spans [starts[i], ends[i]) and holds comma-separated objects
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int chunks;
+
+    ParallelTaskParser(char[] json, int off, int len, int chunkSize) {
+        this.json = json;
+        this.off = off;
+        this.end = off + len;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    List<Task> parse(ForkJoinPool pool) throws IOException {
+        split();
+        if (chunks == 0) return new ArrayList<>();
+        if (chunks == 1) return parseChunk(0);
+        List<List<Task>> parts = new ArrayList<>(Collections.nCopies(chunks, null));
+        try {
+            pool.invoke(new ParseChunks(parts, 0, chunks));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        int total = 0;
+        for (List<Task> part : parts) {
+            total += part.size();
+        }
+        List<Task> result = new ArrayList<>(total);
+        for (List<Task> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+
+    private final class ParseChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<List<Task>> parts;
+        private final int from;
+        private final int to;
+
+        ParseChunks(List<List<Task>> parts, int from, int to) {
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    parts.set(from, parseChunk(from));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParseChunks(parts, from, mid), new ParseChunks(parts, mid, to));
+        }
+    }
+
+    private List<Task> parseChunk(int i) throws IOException {
+        int from = starts[i];
+        JsonTaskReader in = new JsonTaskReader(new CharArrayReader(json, from, ends[i] - from), from - off);
+        List<Task> tasks = new ArrayList<>();
+        in.readElements(tasks);
+        return tasks;
+    }
+
+    /** Finds the chunk boundaries; leaves {@code chunks} at 0 for an empty document or array. */
+    private void split() throws IOException {
+        int p = skipWhitespace(off);
+        if (p == end) return;
+        if (json[p] != '[') throw new JsonParseException("Expected '['", p - off);
+        p++;
+        int first = skipWhitespace(p);
+        if (first < end && json[first] == ']') {
+            checkTrailing(first + 1);
+            return;
+        }
+        int chunkStart = p;
+        int depth = 0;
+        boolean inString = false;
+        for (; p < end; p++) {
+            char c = json[p];
+            if (inString) {
+                if (c == '\\') p++;
+                else if (c == '"') inString = false;
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                    depth--;
+                    break;
+                case ']':
+                    if (depth == 0) {
+                        addChunk(chunkStart, p);
+                        checkTrailing(p + 1);
+                        return;
+                    }
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0 && p - chunkStart >= chunkSize) {
+                        addChunk(chunkStart, p);
+                        chunkStart = p + 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        throw new JsonParseException(inString ? "Unterminated string" : "Unterminated array", end - off);
+    }
+
+    private void addChunk(int from, int to) {
+        if (chunks == starts.length) {
+            starts = Arrays.copyOf(starts, chunks * 2);
+            ends = Arrays.copyOf(ends, chunks * 2);
+        }
+        starts[chunks] = from;
+        ends[chunks] = to;
+        chunks++;
+    }
+
+    private void checkTrailing(int p) throws IOException {
+        p = skipWhitespace(p);
+        if (p != end) throw new JsonParseException("Unexpected content after end of array", p - off);
+    }
+
+    private int skipWhitespace(int p) {
+        while (p < end && isWhitespace(json[p])) p++;
+        return p;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.TaskId;
+
+import java.util.Arrays;
+
+/**
+ * {@link TaskIdMap} with {@code int} values, for maps from ids to array
+ * indexes. Values live in an {@code int[]} so nothing is boxed; they must not
+ * be negative, and -1 in the value column marks a free slot. Not thread-safe.
+ */
+public class TaskIdIntMap extends TaskIdTable {
+    /** Returned by {@link #get} and {@link #remove} for absent keys. */
+    public static final int NONE = -1;
+
+    private int[] values; // NONE marks a free slot
+
+    public TaskIdIntMap() {
+        this(8);
+    }
+
+    public TaskIdIntMap(int expected) {
+        super(expected);
+        values = new int[capacity()];
+        Arrays.fill(values, NONE);
+    }
+
+    /** Returns the value, or {@link #NONE}. */
+    public int get(TaskId key) {
+        int i = find(key);
+        return i < 0 ? NONE : values[i];
+    }
+
+    /** Returns the previous value, or {@link #NONE}. */
+    public int put(TaskId key, int value) {
+        if (value < 0) throw new IllegalArgumentException("negative value: " + value);
+        int i = insert(key);
+        if (i >= 0) {
+            int old = values[i];
+            values[i] = value;
+            return old;
+        }
+        values[~i] = value;
+        added();
+        return NONE;
+    }
+
+    /** Returns the removed value, or {@link #NONE}. */
+    public int remove(TaskId key) {
+        int i = find(key);
+        if (i < 0) return NONE;
+        int old = values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    boolean isUsed(int i) {
+        return values[i] != NONE;
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void freeValue(int i) {
+        values[i] = NONE;
+    }
+
+    @Override
+    void freeAllValues() {
+        Arrays.fill(values, NONE);
+    }
+
+    @Override
+    void relocateValues(int[] target, int cap) {
+        int[] next = new int[cap];
+        Arrays.fill(next, NONE);
+        for (int i = 0; i < target.length; i++) {
+            if (target[i] >= 0) next[target[i]] = values[i];
+        }
+        values = next;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.TaskId;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Open-addressing hash map keyed by {@link TaskId}, with the probing and key
+ * columns of {@link TaskIdTable}. Null values are not allowed. Not thread-safe;
+ * iteration does not detect concurrent changes.
+ */
+public class TaskIdMap<V> extends TaskIdTable {
+    private Object[] values; // null marks a free slot
+
+    public TaskIdMap() {
+        this(8);
+    }
+
+    public TaskIdMap(int expected) {
+        super(expected);
+        values = new Object[capacity()];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(TaskId key) {
+        int i = find(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    /** Returns the previous value, or null. */
+    @SuppressWarnings("unchecked")
+    public V put(TaskId key, V value) {
+        if (value == null) throw new NullPointerException("value");
+        int i = insert(key);
+        if (i >= 0) {
+            V old = (V) values[i];
+            values[i] = value;
+            return old;
+        }
+        values[~i] = value;
+        added();
+        return null;
+    }
+
+    /** Returns the removed value, or null. */
+    @SuppressWarnings("unchecked")
+    public V remove(TaskId key) {
+        int i = find(key);
+        if (i < 0) return null;
+        V old = (V) values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<TaskId, V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) action.accept(key(i), (V) values[i]);
+        }
+    }
+
+    /** Live view of the values. */
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<V>() {
+                    int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < values.length && values[from] == null) from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public V next() {
+                        if (next >= values.length) throw new NoSuchElementException();
+                        V v = (V) values[next];
+                        next = advance(next + 1);
+                        return v;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TaskIdMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    boolean isUsed(int i) {
+        return values[i] != null;
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void freeValue(int i) {
+        values[i] = null;
+    }
+
+    @Override
+    void freeAllValues() {
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    void relocateValues(int[] target, int cap) {
+        Object[] next = new Object[cap];
+        for (int i = 0; i < target.length; i++) {
+            if (target[i] >= 0) next[target[i]] = values[i];
+        }
+        values = next;
+    }
+}
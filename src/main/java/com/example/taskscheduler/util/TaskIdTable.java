@@ -0,0 +1,173 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.TaskId;
+
+import java.util.Arrays;
+
+/**
+ * Key side of the open-addressing maps keyed by {@link TaskId}. Keys are stored
+ * as two parallel {@code long[]} columns, so lookups probe primitive arrays and
+ * never touch a key object or a String; only ids that are not UUIDs keep their
+ * {@link TaskId} for the final equality check. Linear probing with
+ * backward-shift deletion, so there are no tombstones.
+ * <p>
+ * Subclasses own the value column, which also tells free slots from used
+ * ones, and keep it in step with the keys through the hooks below.
+ */
+abstract class TaskIdTable {
+    private long[] his;
+    private long[] los;
+    private TaskId[] rawKeys; // entries only for non-UUID ids; allocated on the first one
+    private int size;
+    private int mask;
+
+    TaskIdTable(int expected) {
+        allocate(Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1);
+    }
+
+    private void allocate(int cap) {
+        his = new long[cap];
+        los = new long[cap];
+        rawKeys = null;
+        mask = cap - 1;
+    }
+
+    /** Whether slot {@code i} holds an entry. */
+    abstract boolean isUsed(int i);
+
+    /** Moves the value of slot {@code from} to the free slot {@code to}. */
+    abstract void moveValue(int from, int to);
+
+    /** Marks slot {@code i} free. */
+    abstract void freeValue(int i);
+
+    /** Marks every slot free. */
+    abstract void freeAllValues();
+
+    /**
+     * Replaces the value column with one of {@code cap} slots, putting the
+     * value of old slot {@code i} at {@code target[i]} where that is not -1.
+     */
+    abstract void relocateValues(int[] target, int cap);
+
+    final int capacity() {
+        return his.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(TaskId key) {
+        return find(key) >= 0;
+    }
+
+    public void clear() {
+        if (rawKeys != null) Arrays.fill(rawKeys, null);
+        freeAllValues();
+        size = 0;
+    }
+
+    /** Returns the slot holding the key, or -1. */
+    final int find(TaskId key) {
+        if (key == null) return -1;
+        long hi = key.getMostSignificantBits();
+        long lo = key.getLeastSignificantBits();
+        int i = TaskId.hash(hi, lo) & mask;
+        while (isUsed(i)) {
+            if (matches(i, hi, lo, key)) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot holding the key, or stores the key in a free slot and
+     * returns its complement. The caller must then fill that slot's value and
+     * call {@link #added()}.
+     */
+    final int insert(TaskId key) {
+        long hi = key.getMostSignificantBits();
+        long lo = key.getLeastSignificantBits();
+        int i = TaskId.hash(hi, lo) & mask;
+        while (isUsed(i)) {
+            if (matches(i, hi, lo, key)) return i;
+            i = (i + 1) & mask;
+        }
+        his[i] = hi;
+        los[i] = lo;
+        if (!key.isUuid()) {
+            if (rawKeys == null) rawKeys = new TaskId[his.length];
+            rawKeys[i] = key;
+        }
+        return ~i;
+    }
+
+    /** Counts an entry stored through {@link #insert}, growing the table if needed. */
+    final void added() {
+        if (++size * 2 > his.length) grow();
+    }
+
+    /** Removes the entry in slot {@code i}, which the caller has read. */
+    final void removeAt(int i) {
+        size--;
+        // Shift later entries of the probe run back so lookups never hit a gap
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (!isUsed(j)) break;
+            int home = TaskId.hash(his[j], los[j]) & mask;
+            // Move j into the gap unless its home lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                his[gap] = his[j];
+                los[gap] = los[j];
+                if (rawKeys != null) rawKeys[gap] = rawKeys[j];
+                moveValue(j, gap);
+                gap = j;
+            }
+        }
+        if (rawKeys != null) rawKeys[gap] = null;
+        freeValue(gap);
+    }
+
+    final TaskId key(int i) {
+        return rawKeys != null && rawKeys[i] != null ? rawKeys[i] : new TaskId(his[i], los[i]);
+    }
+
+    private boolean matches(int i, long hi, long lo, TaskId key) {
+        if (his[i] != hi || los[i] != lo) return false;
+        TaskId raw = rawKeys == null ? null : rawKeys[i];
+        return raw == null ? key.isUuid() : raw.equals(key);
+    }
+
+    private void grow() {
+        long[] oldHis = his;
+        long[] oldLos = los;
+        TaskId[] oldRaw = rawKeys;
+        allocate(oldHis.length * 2);
+        int[] target = new int[oldHis.length];
+        boolean[] taken = new boolean[his.length];
+        for (int i = 0; i < oldHis.length; i++) {
+            if (!isUsed(i)) {
+                target[i] = -1;
+                continue;
+            }
+            int j = TaskId.hash(oldHis[i], oldLos[i]) & mask;
+            while (taken[j]) j = (j + 1) & mask;
+            taken[j] = true;
+            target[i] = j;
+            his[j] = oldHis[i];
+            los[j] = oldLos[i];
+            if (oldRaw != null && oldRaw[i] != null) {
+                if (rawKeys == null) rawKeys = new TaskId[his.length];
+                rawKeys[j] = oldRaw[i];
+            }
+        }
+        relocateValues(target, his.length);
+    }
+}
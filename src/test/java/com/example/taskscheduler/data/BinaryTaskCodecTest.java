@@ -0,0 +1,155 @@
+package com.example.taskscheduler.data;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.taskscheduler.data.TaskStorageTest.assertSameFields;
+import static com.example.taskscheduler.data.TaskStorageTest.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTaskCodecTest {
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        Task full = task("Dentist");
+        full.setDescription("call the clinic ✓ 😀");
+        full.setPriority(Priority.HIGH);
+        full.setDeadlineMinutes(29_000_000L);
+        full.setCreatedAtMinutes(28_000_000L);
+        full.setReminderMinutesBefore(30);
+        full.setCompleted(true);
+        full.setOwner("alice");
+        Task sparse = new Task(TaskId.of("legacy-7"));
+        sparse.setTitle("Dentist");
+        sparse.setCreatedAtMinutes(1);
+
+        List<Task> read = BinaryTaskCodec.read(ByteBuffer.wrap(encode(List.of(full, sparse))));
+
+        assertEquals(2, read.size());
+        assertSameFields(full, read.get(0));
+        assertSameFields(sparse, read.get(1));
+        assertSame(read.get(0).getTitle(), read.get(1).getTitle(), "repeated strings should be stored once");
+    }
+
+    @Test
+    void unpairedSurrogatesRoundTrip() throws IOException {
+        String[] samples = {"\uD83D", "a\uDE00b", "\uDE00\uD83D", "ok 😀 \uD83D", "\uD83D😀"};
+        for (String s : samples) {
+            byte[] bytes = BinaryTaskCodec.encode(s);
+            assertEquals(s, BinaryTaskCodec.decode(bytes, 0, bytes.length));
+            Task t = task(s);
+            t.setDescription(s + s);
+            Task read = BinaryTaskCodec.read(ByteBuffer.wrap(encode(List.of(t)))).get(0);
+            assertEquals(s, read.getTitle());
+            assertEquals(s + s, read.getDescription());
+        }
+    }
+
+    @Test
+    void readsFilesFromBeforeOwners() throws IOException {
+        Task first = task("plain ascii");
+        first.setDescription("café 😀");
+        Task second = task("second");
+        second.setReminderMinutesBefore(15);
+        List<Task> tasks = List.of(first, second);
+        byte[] current = encode(tasks);
+
+        for (int version = 1; version <= 2; version++) {
+            List<Task> read = BinaryTaskCodec.read(ByteBuffer.wrap(withoutOwners(current, version)));
+            assertEquals(2, read.size());
+            assertSameFields(first, read.get(0));
+            assertSameFields(second, read.get(1));
+        }
+    }
+
+    @Test
+    void rejectsBadHeaders() throws IOException {
+        byte[] valid = encode(List.of(task("a")));
+
+        assertRejected(new byte[8], "Not a binary task file");
+        ByteBuffer badMagic = ByteBuffer.wrap(valid.clone());
+        badMagic.putInt(0, 0x53545358);
+        assertRejected(badMagic.array(), "Not a binary task file");
+        ByteBuffer badVersion = ByteBuffer.wrap(valid.clone());
+        badVersion.putShort(4, (short) 4);
+        assertRejected(badVersion.array(), "version 4");
+        badVersion.putShort(4, (short) 0);
+        assertRejected(badVersion.array(), "version 0");
+        ByteBuffer badCount = ByteBuffer.wrap(valid.clone());
+        badCount.putInt(8, 2);
+        assertRejected(badCount.array(), "Truncated");
+        ByteBuffer negativeCount = ByteBuffer.wrap(valid.clone());
+        negativeCount.putInt(8, -1);
+        assertRejected(negativeCount.array(), "Truncated");
+        assertRejected(Arrays.copyOf(valid, BinaryTaskCodec.HEADER_SIZE + BinaryTaskCodec.RECORD_SIZE),
+                "string table cut off");
+    }
+
+    @Test
+    void rejectsBadStringTablesAndRefs() throws IOException {
+        Task legacy = new Task(TaskId.of("legacy-1"));
+        legacy.setTitle("title");
+        legacy.setDescription("description");
+        byte[] valid = encode(List.of(legacy));
+        int record = BinaryTaskCodec.HEADER_SIZE;
+        int offsets = record + BinaryTaskCodec.RECORD_SIZE;
+
+        ByteBuffer titleRef = ByteBuffer.wrap(valid.clone());
+        titleRef.putInt(record + BinaryTaskCodec.R_TITLE, 3);
+        assertRejected(titleRef.array(), "string ref 3");
+        ByteBuffer descriptionRef = ByteBuffer.wrap(valid.clone());
+        descriptionRef.putInt(record + BinaryTaskCodec.R_DESCRIPTION, -2);
+        assertRejected(descriptionRef.array(), "string ref -2");
+        ByteBuffer ownerRef = ByteBuffer.wrap(valid.clone());
+        ownerRef.putInt(record + BinaryTaskCodec.R_OWNER, 7);
+        assertRejected(ownerRef.array(), "string ref 7");
+        ByteBuffer idRef = ByteBuffer.wrap(valid.clone());
+        idRef.putLong(record + BinaryTaskCodec.R_ID_LO, 99);
+        assertRejected(idRef.array(), "id ref 99");
+        ByteBuffer offset = ByteBuffer.wrap(valid.clone());
+        offset.putInt(offsets + 4, 10_000);
+        assertRejected(offset.array(), "offset 10000");
+        ByteBuffer decreasing = ByteBuffer.wrap(valid.clone());
+        decreasing.putInt(offsets + 8, 0);
+        assertRejected(decreasing.array(), "string 2 offset 0");
+        ByteBuffer stringCount = ByteBuffer.wrap(valid.clone());
+        stringCount.putInt(12, -1);
+        assertRejected(stringCount.array(), "string count -1");
+    }
+
+    private static void assertRejected(byte[] bytes, String message) {
+        IOException e = assertThrows(IOException.class, () -> BinaryTaskCodec.read(ByteBuffer.wrap(bytes)));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    /** Rewrites a current file in the layout of an older version, whose records end before the owner ref. */
+    private static byte[] withoutOwners(byte[] current, int version) {
+        ByteBuffer in = ByteBuffer.wrap(current);
+        int count = in.getInt(8);
+        int dropped = BinaryTaskCodec.RECORD_SIZE - BinaryTaskCodec.V2_RECORD_SIZE;
+        ByteBuffer out = ByteBuffer.allocate(current.length - count * dropped);
+        out.put(current, 0, BinaryTaskCodec.HEADER_SIZE);
+        for (int r = 0; r < count; r++) {
+            out.put(current, BinaryTaskCodec.HEADER_SIZE + r * BinaryTaskCodec.RECORD_SIZE, BinaryTaskCodec.V2_RECORD_SIZE);
+        }
+        int rest = BinaryTaskCodec.HEADER_SIZE + count * BinaryTaskCodec.RECORD_SIZE;
+        out.put(current, rest, current.length - rest);
+        out.putShort(4, (short) version);
+        return out.array();
+    }
+
+    static byte[] encode(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryTaskCodec.write(tasks, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.taskscheduler.data;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.example.taskscheduler.data.TaskStorageTest.assertSameFields;
+import static com.example.taskscheduler.data.TaskStorageTest.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTaskArchiveTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void decodesTasksAndLeavesDescriptionsInTheFile() throws IOException {
+        Task full = task("Dentist");
+        full.setDescription("call the clinic \uD83D");
+        full.setPriority(Priority.LOW);
+        full.setDeadlineMinutes(29_000_000L);
+        full.setCreatedAtMinutes(28_000_000L);
+        full.setReminderMinutesBefore(5);
+        Task legacy = new Task(TaskId.of("legacy-3"));
+        legacy.setTitle("Dentist");
+        legacy.setCreatedAtMinutes(1);
+        Path file = dir.resolve("tasks.bin");
+        Files.write(file, BinaryTaskCodecTest.encode(List.of(full, legacy)));
+
+        MappedTaskArchive archive = MappedTaskArchive.open(file);
+        assertEquals(2, archive.size());
+        List<Task> tasks = archive.tasks();
+        assertFalse(tasks.get(0).isDescriptionLoaded());
+        assertSameFields(full, tasks.get(0));
+        assertTrue(tasks.get(0).isDescriptionLoaded());
+        assertSameFields(legacy, tasks.get(1));
+        assertSame(tasks.get(0).getTitle(), archive.get(1).getTitle());
+        assertThrows(IndexOutOfBoundsException.class, () -> archive.get(2));
+    }
+
+    @Test
+    void setDescriptionWinsWithoutReadingTheFile() throws IOException {
+        Path file = dir.resolve("tasks.bin");
+        Task t = task("a");
+        t.setDescription("from the file");
+        Files.write(file, BinaryTaskCodecTest.encode(List.of(t)));
+
+        Task mapped = MappedTaskArchive.open(file).get(0);
+        int version = mapped.getVersion();
+        mapped.setDescription("edited");
+        assertEquals("edited", mapped.getDescription());
+        assertTrue(mapped.getVersion() > version);
+    }
+
+    @Test
+    void rejectsCorruptFilesOnOpen() throws IOException {
+        Path file = dir.resolve("tasks.bin");
+        byte[] bytes = BinaryTaskCodecTest.encode(List.of(task("a")));
+        bytes[BinaryTaskCodec.HEADER_SIZE + BinaryTaskCodec.R_TITLE + 3] = 7;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> MappedTaskArchive.open(file));
+        assertTrue(e.getMessage().contains("string ref"), e.getMessage());
+    }
+
+    @Test
+    void archiveIsDroppedOnceEveryDescriptionIsRead() throws Exception {
+        Path file = dir.resolve("tasks.bin");
+        Files.write(file, BinaryTaskCodecTest.encode(List.of(task("a"), task("b"))));
+        MappedTaskArchive archive = MappedTaskArchive.open(file);
+        List<Task> tasks = archive.tasks();
+        WeakReference<MappedTaskArchive> ref = new WeakReference<>(archive);
+        archive = null;
+
+        for (Task t : tasks) t.getDescription();
+
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get(), "tasks with their descriptions still reach the archive");
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    void storageReadsUnreadDescriptionsBeforeReplacingTheSnapshot() {
+        Path file = dir.resolve("tasks.bin");
+        Task t = task("a");
+        t.setDescription("kept");
+        new TaskStorage(file).save(List.of(t));
+
+        TaskStorage storage = new TaskStorage(file, true);
+        storage.setLazyDescriptions(true);
+        List<Task> loaded = storage.load();
+        assertFalse(loaded.get(0).isDescriptionLoaded());
+        storage.save(List.of(task("replacement")));
+        storage.close();
+
+        assertTrue(loaded.get(0).isDescriptionLoaded());
+        assertEquals("kept", loaded.get(0).getDescription());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.taskscheduler.data;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStorageTest {
+    @TempDir
+    Path dir;
+
+    /** Fails halfway through its journal record, after the long title has reached the file. */
+    private static final class FailingTask extends Task {
+        FailingTask() {
+            super(TaskId.random());
+            setTitle("x".repeat(100_000));
+        }
+
+        @Override
+        public String getDescription() {
+            throw new IllegalStateException("injected write failure");
+        }
+    }
+
+    @Test
+    void journalReplaysEveryKindOfRecord() {
+        Path file = dir.resolve("tasks.json");
+        TaskStorage storage = new TaskStorage(file, true);
+        storage.load();
+        Task kept = task("kept");
+        kept.setDescription("line one\nline \"two\"");
+        kept.setPriority(Priority.HIGH);
+        kept.setDeadlineMinutes(29_000_000L);
+        kept.setCreatedAtMinutes(28_000_000L);
+        kept.setReminderMinutesBefore(15);
+        Task deleted = task("deleted");
+        Task bulk = task("bulk");
+        Task legacy = new Task(TaskId.of("legacy-1"));
+        legacy.setTitle("legacy id");
+        legacy.setDescription("");
+        legacy.setCreatedAtMinutes(28_000_001L);
+
+        storage.recordAdd(kept);
+        storage.recordAdd(deleted);
+        Task edited = copy(kept);
+        edited.setCompleted(true);
+        storage.recordUpdate(edited);
+        storage.recordDelete(deleted.getTaskId());
+        storage.recordChanges(List.of(bulk, legacy), List.of()).join();
+        storage.close();
+
+        List<Task> loaded = new TaskStorage(file, true).load();
+        assertFalse(Files.exists(file), "a clean journal should not be folded on load");
+        assertEquals(Set.of(kept.getTaskId(), bulk.getTaskId(), legacy.getTaskId()), ids(loaded));
+        Map<TaskId, Task> byId = byId(loaded);
+        assertSameFields(edited, byId.get(kept.getTaskId()));
+        assertSameFields(legacy, byId.get(legacy.getTaskId()));
+    }
+
+    @Test
+    void truncatedJournalKeepsCompleteRecordsAndIsFolded() throws Exception {
+        Path file = dir.resolve("tasks.json");
+        Path journal = dir.resolve("tasks.json.journal");
+        TaskStorage storage = new TaskStorage(file, true);
+        storage.load();
+        Task first = task("first");
+        storage.recordAdd(first).join();
+        storage.recordAdd(task("second")).join();
+        storage.close();
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        TaskStorage reopened = new TaskStorage(file, true);
+        assertEquals(Set.of(first.getTaskId()), ids(reopened.load()));
+        assertTrue(Files.exists(file), "the readable part should be folded into a snapshot");
+        assertFalse(Files.exists(journal));
+        Task third = task("third");
+        reopened.recordAdd(third).join();
+        reopened.close();
+
+        assertEquals(Set.of(first.getTaskId(), third.getTaskId()), ids(new TaskStorage(file, true).load()));
+    }
+
+    @Test
+    void interruptedCompactionIsReplayedBeforeTheJournalAndFoldedLater() throws Exception {
+        Path file = dir.resolve("tasks.json");
+        Path journal = dir.resolve("tasks.json.journal");
+        Path compacting = dir.resolve("tasks.json.journal.compacting");
+        Task a = task("a");
+        Task b = task("b");
+        Task c = task("c");
+        TaskStorage storage = new TaskStorage(file, true);
+        storage.load();
+        storage.save(List.of(a));
+        storage.recordAdd(b).join();
+        storage.close();
+        // As if the compactor died after rotating the journal
+        Files.move(journal, compacting);
+        storage = new TaskStorage(file, true);
+        storage.load();
+        storage.recordDelete(b.getTaskId());
+        storage.recordAdd(c).join();
+        storage.close();
+
+        storage = new TaskStorage(file, true);
+        assertEquals(Set.of(a.getTaskId(), c.getTaskId()), ids(storage.load()));
+        storage.setCompactionThreshold(1);
+        Task d = task("d");
+        storage.recordAdd(d).join();
+        storage.close();
+
+        assertFalse(Files.exists(compacting), "the leftover compaction should have been folded");
+        assertEquals(Set.of(a.getTaskId(), c.getTaskId(), d.getTaskId()), ids(new TaskStorage(file, true).load()));
+    }
+
+    @Test
+    void saveReplacesTheSnapshotWholeAndIgnoresAStaleTempFile() throws Exception {
+        Path file = dir.resolve("tasks.json");
+        Path tmp = dir.resolve("tasks.json.tmp");
+        TaskStorage storage = new TaskStorage(file);
+        storage.save(List.of(task("old 1"), task("old 2")));
+        // Left behind by a save that crashed before its rename
+        Files.writeString(tmp, "[{\"id\":");
+        assertEquals(2, new TaskStorage(file).load().size());
+
+        Task latest = task("latest");
+        storage.saveAsync(List.of(task("superseded")));
+        storage.save(List.of(latest));
+        storage.close();
+
+        assertFalse(Files.exists(tmp));
+        assertEquals(Set.of(latest.getTaskId()), ids(new TaskStorage(file).load()));
+    }
+
+    @Test
+    void saveClearsTheJournal() {
+        Path file = dir.resolve("tasks.json");
+        TaskStorage storage = new TaskStorage(file, true);
+        storage.load();
+        storage.recordAdd(task("journaled")).join();
+        Task saved = task("saved");
+        storage.save(List.of(saved));
+        storage.close();
+
+        assertFalse(Files.exists(dir.resolve("tasks.json.journal")));
+        assertEquals(Set.of(saved.getTaskId()), ids(new TaskStorage(file, true).load()));
+    }
+
+    @Test
+    void writesAfterAFailedRecordSurviveReload() {
+        Path file = dir.resolve("tasks.json");
+        TaskStorage storage = new TaskStorage(file, true);
+        storage.load();
+        Task before = task("before");
+        Task after = task("after");
+
+        storage.recordAdd(before).join();
+        assertThrows(CompletionException.class, () -> storage.recordAdd(new FailingTask()).join());
+        storage.recordAdd(after).join();
+        storage.close();
+
+        assertEquals(Set.of(before.getTaskId(), after.getTaskId()), ids(new TaskStorage(file, true).load()));
+    }
+
+    static Task task(String title) {
+        Task t = new Task(TaskId.random());
+        t.setTitle(title);
+        return t;
+    }
+
+    static Task copy(Task t) {
+        Task c = new Task(t.getTaskId());
+        c.setTitle(t.getTitle());
+        c.setDescription(t.getDescription());
+        c.setPriority(t.getPriority());
+        c.setDeadlineMinutes(t.getDeadlineMinutes());
+        c.setCreatedAtMinutes(t.getCreatedAtMinutes());
+        c.setCompleted(t.isCompleted());
+        c.setReminderMinutesBefore(t.getReminderMinutesBefore());
+        c.setOwner(t.getOwner());
+        return c;
+    }
+
+    static void assertSameFields(Task expected, Task actual) {
+        assertNotNull(actual, "missing " + expected.getTaskId());
+        assertEquals(expected.getTaskId(), actual.getTaskId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getDeadlineMinutes(), actual.getDeadlineMinutes());
+        assertEquals(expected.getCreatedAtMinutes(), actual.getCreatedAtMinutes());
+        assertEquals(expected.isCompleted(), actual.isCompleted());
+        assertEquals(expected.getReminderMinutesBefore(), actual.getReminderMinutesBefore());
+        assertEquals(expected.getOwner(), actual.getOwner());
+    }
+
+    static Map<TaskId, Task> byId(List<Task> tasks) {
+        Map<TaskId, Task> map = new HashMap<>();
+        for (Task t : tasks) map.put(t.getTaskId(), t);
+        return map;
+    }
+
+    static Set<TaskId> ids(List<Task> tasks) {
+        Set<TaskId> ids = new HashSet<>();
+        for (Task t : tasks) ids.add(t.getTaskId());
+        return ids;
+    }
+}
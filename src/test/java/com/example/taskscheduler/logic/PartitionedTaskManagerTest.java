@@ -0,0 +1,169 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedTaskManagerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @TempDir
+    Path dir;
+    private final List<PartitionedTaskManager> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeAll() {
+        for (PartitionedTaskManager m : opened) m.close();
+    }
+
+    @Test
+    void ownersAreRoutedToOneShardAndOnlySeeTheirOwnTasks() {
+        PartitionedTaskManager m = open(4);
+        String alice = "alice";
+        String bob = sameShardAs(m, alice);
+        Task a = task("a");
+        Task b = task("b");
+        m.add(alice, a);
+        m.add(bob, b);
+
+        assertEquals(alice, a.getOwner());
+        for (PartitionedTaskManager.Shard s : m.shards()) {
+            assertEquals(s == m.shardFor(alice), s.manager().getById(a.getTaskId()) != null);
+        }
+        assertEquals(List.of(a), m.tasksOf(alice));
+        assertEquals(List.of(b), m.tasksOf(bob));
+        assertSame(a, m.getById(alice, a.getTaskId()));
+        assertNull(m.getById(bob, a.getTaskId()));
+
+        assertThrows(IllegalArgumentException.class, () -> m.update(bob, a));
+        assertThrows(IllegalArgumentException.class, () -> m.delete(bob, a.getTaskId()));
+        Task hijack = task("hijack");
+        hijack.setTaskId(a.getTaskId());
+        assertThrows(IllegalArgumentException.class, () -> m.add(bob, hijack));
+        Task foreign = task("foreign");
+        foreign.setOwner(alice);
+        assertThrows(IllegalArgumentException.class, () -> m.add(bob, foreign));
+        assertSame(a, m.getById(alice, a.getTaskId()));
+        assertEquals(2, m.size());
+
+        m.delete(alice, a.getTaskId());
+        assertTrue(m.tasksOf(alice).isEmpty());
+        assertEquals(List.of(b), m.tasksOf(bob));
+    }
+
+    @Test
+    void crossShardQueriesMergeInUrgencyOrder() {
+        PartitionedTaskManager m = open(4);
+        Random r = new Random(3);
+        List<Task> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Task t = task("t" + i);
+            t.setPriority(Priority.values()[r.nextInt(3)]);
+            if (r.nextInt(4) > 0) t.setDeadlineMinutes(DateUtil.toEpochMinutes(NOW) + r.nextInt(2000) - 1000);
+            t.setCompleted(r.nextInt(5) == 0);
+            t.setCreatedAtMinutes(28_000_000L + r.nextInt(10));
+            m.add("owner-" + r.nextInt(25), t);
+            all.add(t);
+        }
+        all.sort(Task::urgencyCompareTo);
+        List<Task> overdue = new ArrayList<>();
+        for (Task t : all) {
+            if (!t.isCompleted() && t.hasDeadline() && t.getDeadlineMinutes() < DateUtil.toEpochMinutes(NOW)) {
+                overdue.add(t);
+            }
+        }
+
+        for (int limit : new int[] {0, 1, 7, 100, 300, 1000}) {
+            assertEquals(ids(all.subList(0, Math.min(limit, all.size()))), ids(m.topUrgent(limit)), "limit " + limit);
+            assertEquals(ids(overdue.subList(0, Math.min(limit, overdue.size()))), ids(m.overdueAsOf(NOW, limit)),
+                    "limit " + limit);
+        }
+        assertEquals(ids(overdue), ids(m.overdueAsOf(NOW)));
+    }
+
+    @Test
+    void reloadKeepsOwnersAndRouting() {
+        PartitionedTaskManager m = open(3);
+        List<String> owners = List.of("alice", "bob", "carol", "dave", "erin");
+        for (String owner : owners) {
+            for (int i = 0; i < 4; i++) {
+                m.add(owner, task(owner + " " + i));
+            }
+        }
+        Task edited = m.tasksOf("bob").get(0);
+        edited.setTitle("edited");
+        m.update("bob", edited);
+        TaskId gone = m.tasksOf("carol").get(0).getTaskId();
+        m.delete("carol", gone);
+        List<List<TaskId>> before = new ArrayList<>();
+        for (String owner : owners) before.add(ids(m.tasksOf(owner)));
+        m.close();
+        opened.clear();
+
+        PartitionedTaskManager reopened = open(3);
+        reopened.load();
+
+        for (int i = 0; i < owners.size(); i++) {
+            assertEquals(before.get(i), ids(reopened.tasksOf(owners.get(i))), owners.get(i));
+        }
+        assertEquals("edited", reopened.getById("bob", edited.getTaskId()).getTitle());
+        assertNull(reopened.getById("carol", gone));
+        assertEquals(19, reopened.size());
+    }
+
+    @Test
+    void refusesADirectoryWrittenWithAnotherShardCount() throws IOException {
+        open(4).add("alice", task("a"));
+
+        assertThrows(IllegalStateException.class, () -> open(8));
+        assertThrows(IllegalStateException.class, () -> open(2));
+        open(4);
+
+        // Without a count file, shard files numbered past the count give the old layout away
+        Path legacy = Files.createDirectories(dir.resolve("legacy"));
+        Files.writeString(legacy.resolve("shard-05.json.journal"), "");
+        assertThrows(IllegalStateException.class, () -> new PartitionedTaskManager(legacy, 4));
+        new PartitionedTaskManager(legacy, 6).close();
+        assertThrows(IllegalStateException.class, () -> new PartitionedTaskManager(legacy, 8));
+    }
+
+    private PartitionedTaskManager open(int shardCount) {
+        PartitionedTaskManager m = new PartitionedTaskManager(dir, shardCount);
+        opened.add(m);
+        return m;
+    }
+
+    private static String sameShardAs(PartitionedTaskManager m, String owner) {
+        for (int i = 0; ; i++) {
+            String other = "user-" + i;
+            if (m.shardFor(other) == m.shardFor(owner)) return other;
+        }
+    }
+
+    private static List<TaskId> ids(List<Task> tasks) {
+        List<TaskId> ids = new ArrayList<>();
+        for (Task t : tasks) ids.add(t.getTaskId());
+        return ids;
+    }
+
+    private static Task task(String title) {
+        Task t = new Task(TaskId.random());
+        t.setTitle(title);
+        t.setCreatedAtMinutes(28_000_000L);
+        return t;
+    }
+}
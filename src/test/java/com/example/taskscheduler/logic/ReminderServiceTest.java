@@ -0,0 +1,188 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import com.example.taskscheduler.util.DateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderServiceTest {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final ReminderService service = new ReminderService();
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void overdueRemindersArriveTogetherInOneBatch() throws Exception {
+        InMemoryReminderSink sink = new InMemoryReminderSink();
+        service.addSink(sink);
+        List<Task> tasks = overdue(50);
+        tasks.forEach(service::scheduleFor);
+
+        assertTrue(sink.awaitTasks(50, TIMEOUT_MILLIS));
+        assertEquals(1, sink.getBatches().size());
+        assertEquals(ids(tasks), ids(sink.getTasks()));
+    }
+
+    @Test
+    void backlogOfBusySinkIsCappedAndTheRestCountedAsDropped() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryReminderSink received = new InMemoryReminderSink();
+        service.setMinDeliveryInterval(Duration.ZERO);
+        service.addSink(batch -> {
+            firstStarted.countDown();
+            release.await();
+            received.deliver(batch);
+        });
+
+        service.scheduleFor(overdue(1).get(0));
+        assertTrue(firstStarted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        int burst = ReminderService.MAX_BATCH * 5;
+        overdue(burst).forEach(service::scheduleFor);
+        Thread.sleep(500); // lets the delivery thread move the burst into the sink's backlog
+        release.countDown();
+
+        awaitAccountedFor(received, 1 + burst);
+        List<ReminderBatch> batches = received.getBatches();
+        assertEquals(2, batches.size());
+        assertEquals(1, batches.get(0).size());
+        assertEquals(ReminderService.MAX_BATCH, batches.get(1).size());
+        assertEquals(burst - ReminderService.MAX_BATCH, batches.get(1).getDropped());
+    }
+
+    @Test
+    void burstLargerThanTheQueueIsDeliveredOrCountedNeverLost() throws Exception {
+        InMemoryReminderSink sink = new InMemoryReminderSink();
+        service.setMinDeliveryInterval(Duration.ZERO);
+        service.addSink(sink);
+        int burst = ReminderService.QUEUE_CAPACITY + ReminderService.MAX_BATCH * 3;
+        overdue(burst).forEach(service::scheduleFor);
+
+        awaitAccountedFor(sink, burst);
+        for (ReminderBatch b : sink.getBatches()) {
+            assertTrue(b.size() <= ReminderService.MAX_BATCH, "batch of " + b.size());
+        }
+        assertEquals(sink.getTasks().size(), ids(sink.getTasks()).size(), "a reminder was delivered twice");
+    }
+
+    @Test
+    void slowSinkGetsOneBatchAtATime() throws Exception {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        InMemoryReminderSink received = new InMemoryReminderSink();
+        service.setMinDeliveryInterval(Duration.ZERO);
+        service.addSink(batch -> {
+            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            inside.decrementAndGet();
+            received.deliver(batch);
+        });
+
+        for (Task t : overdue(200)) {
+            service.scheduleFor(t);
+            Thread.sleep(1);
+        }
+
+        awaitAccountedFor(received, 200);
+        assertEquals(1, maxInside.get());
+        assertTrue(received.getBatches().size() > 1, "reminders should have been split over several batches");
+    }
+
+    @Test
+    void batchesAreSpacedByTheMinimumDeliveryInterval() throws Exception {
+        InMemoryReminderSink sink = new InMemoryReminderSink();
+        service.setMinDeliveryInterval(Duration.ofMillis(400));
+        List<Long> deliveredAt = new CopyOnWriteArrayList<>();
+        service.addSink(batch -> {
+            deliveredAt.add(System.nanoTime());
+            sink.deliver(batch);
+        });
+
+        service.scheduleFor(overdue(1).get(0));
+        assertTrue(sink.awaitTasks(1, TIMEOUT_MILLIS));
+        overdue(10).forEach(service::scheduleFor);
+
+        assertTrue(sink.awaitTasks(11, TIMEOUT_MILLIS));
+        assertEquals(2, deliveredAt.size());
+        assertTrue(deliveredAt.get(1) - deliveredAt.get(0) >= TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    @Test
+    void moreBlockedSinksThanTheDeliveryPoolHoldsStillGetTheirBatch() throws Exception {
+        // Only the platform fallback can reject; with virtual threads this just checks delivery
+        int sinkCount = ReminderService.FALLBACK_DELIVERY_THREADS + ReminderService.FALLBACK_DELIVERY_QUEUE + 20;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(sinkCount);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < sinkCount; i++) {
+            service.addSink(batch -> {
+                calls.incrementAndGet();
+                release.await();
+                if (batch.size() == 1) delivered.countDown();
+            });
+        }
+
+        service.scheduleFor(overdue(1).get(0));
+        Thread.sleep(300);
+        release.countDown();
+
+        assertTrue(delivered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), delivered.getCount() + " sink(s) never got the batch");
+        assertEquals(sinkCount, calls.get(), "a rejected delivery must not reach its sink");
+    }
+
+    /** Waits until every one of {@code n} reminders was either delivered or reported dropped. */
+    private static void awaitAccountedFor(InMemoryReminderSink sink, int n) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        int seen = 0;
+        while (System.currentTimeMillis() < end) {
+            seen = 0;
+            for (ReminderBatch b : sink.getBatches()) {
+                seen += b.size() + b.getDropped();
+            }
+            if (seen >= n) break;
+            Thread.sleep(20);
+        }
+        assertEquals(n, seen);
+    }
+
+    private static List<Task> overdue(int n) {
+        long deadline = DateUtil.toEpochMinutes(LocalDateTime.now()) - 10;
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = new Task(TaskId.random());
+            t.setTitle("task " + i);
+            t.setPriority(Priority.MEDIUM);
+            t.setDeadlineMinutes(deadline);
+            t.setReminderMinutesBefore(0);
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    private static Set<TaskId> ids(List<Task> tasks) {
+        Set<TaskId> ids = new HashSet<>();
+        for (Task t : tasks) {
+            ids.add(t.getTaskId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test of the versioned snapshot behind {@link TaskManager#getAll()}:
+ * writers add tasks and replace others with re-prioritised copies while
+ * readers check that every snapshot is sorted, has no duplicates, holds every
+ * add that finished before it was requested, and never loses a task an
+ * earlier snapshot of the same reader had.
+ */
+class TaskManagerConcurrencyTest {
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int ADDS_PER_WRITER = 2000;
+
+    @Test
+    void snapshotsNeverGoBackwards() throws Exception {
+        TaskManager manager = new TaskManager();
+        AtomicInteger addsDone = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            long seed = w;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    Random r = new Random(seed);
+                    List<TaskId> mine = new ArrayList<>();
+                    for (int i = 0; i < ADDS_PER_WRITER; i++) {
+                        Task t = task(new TaskId(r.nextLong(), r.nextLong()), r);
+                        manager.add(t);
+                        addsDone.incrementAndGet();
+                        mine.add(t.getTaskId());
+                        if (r.nextInt(4) == 0) {
+                            // A fresh copy, so tasks already in a snapshot are never mutated
+                            manager.update(task(mine.get(r.nextInt(mine.size())), r));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    writersDone.countDown();
+                }
+            }, "writer-" + w));
+        }
+        for (int rd = 0; rd < READERS; rd++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    Set<TaskId> previous = new HashSet<>();
+                    boolean last = false;
+                    while (!last) {
+                        last = writersDone.getCount() == 0;
+                        int doneBefore = addsDone.get();
+                        List<Task> snapshot = manager.getAll();
+                        Set<TaskId> ids = check(snapshot);
+                        assertTrue(ids.size() >= doneBefore,
+                                "snapshot of " + ids.size() + " misses finished adds: " + doneBefore);
+                        assertTrue(ids.containsAll(previous), "a task disappeared between snapshots");
+                        previous = ids;
+                    }
+                    assertEquals(WRITERS * ADDS_PER_WRITER, previous.size());
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }, "reader-" + rd));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread t : threads) {
+            t.join(60_000);
+            assertFalse(t.isAlive(), t.getName() + " did not finish");
+        }
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(failures.size() + " thread(s) failed");
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+        assertEquals(WRITERS * ADDS_PER_WRITER, manager.size());
+        assertSame(manager.getAll(), manager.getAll(), "an unchanged manager should hand out the same snapshot");
+    }
+
+    /** Asserts the snapshot is sorted, unmodifiable and free of duplicates, and returns its ids. */
+    private static Set<TaskId> check(List<Task> snapshot) {
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, null));
+        Set<TaskId> ids = new HashSet<>(snapshot.size() * 2);
+        for (int i = 0; i < snapshot.size(); i++) {
+            Task t = snapshot.get(i);
+            assertTrue(ids.add(t.getTaskId()), "duplicate " + t.getTaskId());
+            if (i > 0) assertTrue(snapshot.get(i - 1).urgencyCompareTo(t) <= 0, "out of order at " + i);
+        }
+        return ids;
+    }
+
+    private static Task task(TaskId id, Random r) {
+        Task t = new Task(id);
+        t.setTitle("task " + id);
+        t.setPriority(Priority.values()[r.nextInt(3)]);
+        t.setCreatedAtMinutes(r.nextInt(1_000_000));
+        if (r.nextBoolean()) t.setDeadlineMinutes(29_000_000L + r.nextInt(100_000));
+        return t;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskManagerTest {
+
+    @Test
+    void addAllReportsEachIdOnceWithTheLastVersion() {
+        TaskId a = TaskId.random();
+        TaskId b = TaskId.random();
+        Task a1 = task(a, "a1");
+        Task b1 = task(b, "b1");
+        Task a2 = task(a, "a2");
+        TaskManager manager = new TaskManager();
+
+        ChangeSet changes = manager.addAll(List.of(a1, b1, a2));
+
+        assertEquals(List.of(b1, a2), changes.getChanged());
+        assertEquals(2, manager.size());
+        assertSame(a2, manager.getById(a));
+    }
+
+    @Test
+    void updateAllReportsEachIdOnceWithTheLastVersion() {
+        TaskId a = TaskId.random();
+        TaskManager manager = new TaskManager();
+        manager.add(task(a, "a0"));
+        Task a1 = task(a, "a1");
+        Task a2 = task(a, "a2");
+
+        ChangeSet changes = manager.updateAll(List.of(a1, task(TaskId.random(), "unknown"), a2));
+
+        assertEquals(List.of(a2), changes.getChanged());
+        assertSame(a2, manager.getById(a));
+        assertEquals(List.of(a2), manager.search("a2"));
+        assertTrue(manager.search("a1").isEmpty());
+    }
+
+    @Test
+    void batchWithoutDuplicatesIsReportedAsGiven() {
+        List<Task> tasks = List.of(task(TaskId.random(), "x"), task(TaskId.random(), "y"));
+        assertEquals(tasks, new TaskManager().addAll(tasks).getChanged());
+    }
+
+    @Test
+    void timeQueriesTreatBoundsWithSecondsLikeTheDeadlineTheyFollow() {
+        LocalDateTime nine = LocalDateTime.of(2026, 3, 1, 9, 0);
+        Task atNine = task(TaskId.random(), "at nine");
+        atNine.setDeadline(nine);
+        atNine.setReminderMinutesBefore(30);
+        Task atTen = task(TaskId.random(), "at ten");
+        atTen.setDeadline(nine.plusHours(1));
+        atTen.setReminderMinutesBefore(0);
+        TaskManager manager = new TaskManager();
+        manager.addAll(List.of(atNine, atTen));
+
+        assertTrue(manager.overdueAsOf(nine).isEmpty());
+        assertEquals(List.of(atNine), manager.overdueAsOf(nine.plusSeconds(1)));
+        assertEquals(List.of(atNine), manager.dueBetween(nine, nine.plusHours(1)));
+        assertEquals(List.of(atTen), manager.dueBetween(nine.plusSeconds(1), nine.plusHours(1).plusSeconds(1)));
+        assertTrue(manager.dueBetween(nine.plusSeconds(1), nine.plusSeconds(59)).isEmpty());
+
+        // Reminders fire at deadline minus lead: 08:30 and 10:00
+        assertEquals(List.of(atNine), manager.remindersBetween(null, nine.minusMinutes(30)));
+        assertTrue(manager.remindersBetween(nine.minusMinutes(30), nine.minusMinutes(30).plusSeconds(59)).isEmpty());
+        assertEquals(List.of(atNine, atTen), manager.remindersBetween(nine.minusMinutes(31).plusSeconds(30), nine.plusHours(1)));
+        atTen.setCompleted(true);
+        manager.update(atTen);
+        assertEquals(List.of(atNine), manager.remindersBetween(null, nine.plusHours(2)));
+    }
+
+    private static Task task(TaskId id, String title) {
+        Task t = new Task(id);
+        t.setTitle(title);
+        t.setPriority(Priority.MEDIUM);
+        return t;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextIndexTest {
+
+    /** Stands in for a mapped task: counts how often its description is read. */
+    private static final class LazyTask extends Task {
+        private final String lazyDescription;
+        int reads;
+
+        LazyTask(String title, String description) {
+            super(TaskId.random());
+            setTitle(title);
+            this.lazyDescription = description;
+        }
+
+        @Override
+        public String getDescription() {
+            reads++;
+            return lazyDescription;
+        }
+
+        @Override
+        public boolean isDescriptionLoaded() {
+            return reads > 0;
+        }
+    }
+
+    @Test
+    void loadingLeavesUnreadDescriptionsAlone() {
+        LazyTask a = new LazyTask("Dentist", "call the clinic");
+        LazyTask b = new LazyTask("Groceries", "milk and bread");
+        TaskManager manager = new TaskManager();
+        manager.setAll(List.of(a, b));
+        manager.add(new LazyTask("Taxes", "forms"));
+
+        assertEquals(0, a.reads);
+        assertEquals(0, b.reads);
+    }
+
+    @Test
+    void firstSearchIndexesDeferredDescriptions() {
+        LazyTask a = new LazyTask("Dentist", "call the clinic");
+        LazyTask b = new LazyTask("Groceries", "milk and bread");
+        TaskManager manager = new TaskManager();
+        manager.setAll(List.of(a, b));
+
+        assertEquals(Set.of(a.getTaskId()), manager.searchIds("dent"));
+        assertEquals(Set.of(b.getTaskId()), manager.searchIds("milk"));
+        assertEquals(Set.of(a.getTaskId()), manager.searchIds("dentist clinic"));
+        assertEquals(1, a.reads);
+        assertEquals(1, b.reads);
+    }
+
+    @Test
+    void deletedTaskIsNotIndexedLater() {
+        LazyTask a = new LazyTask("Dentist", "call the clinic");
+        TaskManager manager = new TaskManager();
+        manager.setAll(List.of(a));
+        manager.delete(a.getTaskId());
+
+        assertTrue(manager.searchIds("clinic").isEmpty());
+        assertEquals(0, a.reads);
+    }
+
+    @Test
+    void editedDescriptionReplacesDeferredOne() {
+        LazyTask a = new LazyTask("Dentist", "call the clinic");
+        TaskManager manager = new TaskManager();
+        manager.setAll(List.of(a));
+        Task edited = new Task(a.getTaskId());
+        edited.setTitle("Dentist");
+        edited.setDescription("reschedule");
+        manager.update(edited);
+
+        assertTrue(manager.searchIds("clinic").isEmpty());
+        assertEquals(Set.of(a.getTaskId()), manager.searchIds("reschedule"));
+    }
+}
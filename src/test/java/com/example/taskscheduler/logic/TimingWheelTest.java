@@ -0,0 +1,107 @@
+package com.example.taskscheduler.logic;
+
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a wheel by hand with one-millisecond ticks starting at 0, so a
+ * deadline of N millis is tick N, and actions run on the advancing thread.
+ */
+class TimingWheelTest {
+    private static final long LEVEL_1 = 64;
+    private static final long LEVEL_2 = 64 * 64;
+    private static final long LEVEL_3 = 64 * 64 * 64;
+    private static final long RANGE = 64 * 64 * 64 * 64;
+
+    private final TimingWheel wheel = new TimingWheel(1, Runnable::run, 0);
+    // Key -> tick it fired on, in firing order
+    private final Map<TaskId, Long> fired = new LinkedHashMap<>();
+
+    @Test
+    void entriesOnLevelBoundariesFireOnTheirTick() {
+        // From tick 0, then from points that are not aligned to any level
+        for (long skip : new long[] {0, 1000, LEVEL_3 - 3}) {
+            long base = wheel.currentTick() + skip;
+            wheel.advanceTo(base);
+            fired.clear();
+            long[] deltas = {1, LEVEL_1 - 1, LEVEL_1, LEVEL_1 + 1, LEVEL_2 - 1, LEVEL_2, LEVEL_2 + 1,
+                    LEVEL_3 - 1, LEVEL_3, LEVEL_3 + 1, RANGE - LEVEL_3, RANGE - 1, RANGE};
+            Map<TaskId, Long> expected = new LinkedHashMap<>();
+            for (long delta : deltas) {
+                TaskId id = TaskId.random();
+                schedule(id, base + delta);
+                expected.put(id, base + delta);
+            }
+            wheel.advanceTo(base + RANGE + 1);
+
+            assertEquals(expected, fired, "scheduled from tick " + base);
+            assertEquals(List.copyOf(expected.values()), List.copyOf(fired.values()));
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Test
+    void reschedulingAnIdReplacesItsEntry() {
+        TaskId id = TaskId.random();
+        schedule(id, 100);
+        schedule(id, 50);
+        assertEquals(1, wheel.size());
+        wheel.advanceTo(200);
+        assertEquals(Map.of(id, 50L), fired);
+
+        // Near to far and back, across levels
+        fired.clear();
+        schedule(id, 210);
+        schedule(id, 200 + LEVEL_2 + 5);
+        schedule(id, 205);
+        wheel.advanceTo(200 + LEVEL_3);
+        assertEquals(Map.of(id, 205L), fired);
+
+        fired.clear();
+        schedule(id, wheel.currentTick() + LEVEL_2 + 5);
+        schedule(id, wheel.currentTick() + LEVEL_3 * 2);
+        assertTrue(wheel.cancel(id));
+        assertFalse(wheel.cancel(id));
+        wheel.advanceTo(wheel.currentTick() + LEVEL_3 * 3);
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        wheel.advanceTo(500);
+        TaskId id = TaskId.random();
+        schedule(id, 10);
+        wheel.advanceTo(501);
+        assertEquals(Map.of(id, 501L), fired);
+    }
+
+    @Test
+    void parkedEntriesFireOnTimeAfterCascades() {
+        TaskId justOutside = TaskId.random();
+        TaskId farOut = TaskId.random();
+        TaskId cancelled = TaskId.random();
+        TaskId near = TaskId.random();
+        schedule(justOutside, RANGE + 1);
+        schedule(farOut, 2 * RANGE + LEVEL_2 + 17);
+        schedule(cancelled, 3 * RANGE);
+        schedule(near, 3);
+        assertTrue(wheel.cancel(cancelled));
+
+        wheel.advanceTo(2 * RANGE);
+        assertEquals(Map.of(near, 3L, justOutside, RANGE + 1), fired);
+        assertTrue(wheel.isScheduled(farOut));
+        wheel.advanceTo(3 * RANGE + 1);
+        assertEquals(Map.of(near, 3L, justOutside, RANGE + 1, farOut, 2 * RANGE + LEVEL_2 + 17), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    private void schedule(TaskId id, long tick) {
+        wheel.schedule(id, tick, () -> assertNull(fired.put(id, wheel.currentTick()), "fired twice"));
+    }
+}
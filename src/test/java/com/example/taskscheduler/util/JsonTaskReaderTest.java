@@ -0,0 +1,118 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTaskReaderTest {
+
+    @Test
+    void escapesRoundTripThroughUtf8() throws IOException {
+        String[] samples = {
+                "quote \" backslash \\ slash /", "lines\nand\r\ttabs", "\b\f\u0000\u001f",
+                "café ✓ 😀", "lone \uD83D high", "lone \uDE00 low", "\uDE00\uD83D", "end \uD83D"
+        };
+        for (String s : samples) {
+            Task t = task(s);
+            t.setDescription(s + s);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            JsonUtil.writeTasks(List.of(t), Channels.newChannel(bytes));
+            List<Task> read = JsonUtil.parseTasks(new InputStreamReader(
+                    new ByteArrayInputStream(bytes.toByteArray()), StandardCharsets.UTF_8));
+
+            assertEquals(1, read.size());
+            assertEquals(s, read.get(0).getTitle());
+            assertEquals(s + s, read.get(0).getDescription());
+        }
+        assertTrue(JsonUtil.toJson(List.of(task("a\uD83Db"))).contains("a\\ud83db"),
+                "unpaired surrogates should be written as \\u escapes");
+    }
+
+    @Test
+    void everyFieldRoundTrips() {
+        Task full = task("Dentist");
+        full.setDescription("call the clinic");
+        full.setPriority(Priority.HIGH);
+        full.setDeadlineMinutes(29_000_000L);
+        full.setCompleted(true);
+        full.setReminderMinutesBefore(-5);
+        full.setOwner("team \"a\"");
+        Task legacy = new Task(TaskId.of("legacy \"1\""));
+        legacy.setTitle(null);
+        legacy.setCreatedAtMinutes(1);
+        List<Task> tasks = List.of(full, legacy);
+
+        String json = JsonUtil.toJson(tasks);
+        List<Task> read = JsonUtil.parseTasks(json);
+
+        assertEquals(json, JsonUtil.toJson(read));
+        assertEquals(legacy.getTaskId(), read.get(1).getTaskId());
+        assertEquals(Integer.valueOf(-5), read.get(0).getReminderMinutesBefore());
+        assertEquals("team \"a\"", read.get(0).getOwner());
+        assertNull(read.get(1).getOwner());
+        assertEquals(json.indexOf("\"owner\""), json.lastIndexOf("\"owner\""), "owner should only be written when set");
+    }
+
+    @Test
+    void skipsUnknownFieldsAndAcceptsEscapedKeys() {
+        String json = "[{\"extra\":{\"a\":[1,-2.5e3,true,null,\"x\\\"y\"]},\"t\\u0069tle\":\"T\",\"id\":\"k\"}]";
+
+        Task t = JsonUtil.parseTasks(json).get(0);
+
+        assertEquals("T", t.getTitle());
+        assertEquals(TaskId.of("k"), t.getTaskId());
+    }
+
+    @Test
+    void errorsReportTheOffsetOfTheOffendingCharacter() {
+        assertErrorAt("[{\"id\":\"a\",\"completed\":maybe}]", "maybe");
+        assertErrorAt("[{\"id\":\"a\",\"title\":\"bad \\q escape\"}]", "q escape");
+        assertErrorAt("[{\"id\":\"a\",\"reminderMinutesBefore\":99999999999}]", "99999999999");
+        assertErrorAt("[{\"id\":\"a\",\"deadline\":\"soon\"}]", "\"soon\"");
+        assertErrorAt("[{\"id\":\"a\"} {\"id\":\"b\"}]", "{\"id\":\"b\"");
+        assertErrorAt("[{\"id\":\"a\"}] trailing", "trailing");
+        // Past the first buffer fill, so offsets must count the characters already consumed
+        String padded = "[" + " ".repeat(20_000) + "{\"id\":\"a\",\"completed\":nope}]";
+        assertErrorAt(padded, "nope");
+
+        String unterminated = "[{\"id\":\"a\",\"title\":\"open";
+        JsonParseException e = parseError(unterminated);
+        assertEquals(unterminated.length(), e.getOffset());
+    }
+
+    @Test
+    void startOffsetShiftsReportedOffsets() {
+        JsonTaskReader in = new JsonTaskReader(new StringReader("{\"id\":\"a\",\"completed\":x}"), 1000);
+
+        JsonParseException e = assertThrows(JsonParseException.class, in::readObject);
+        assertEquals(1000 + "{\"id\":\"a\",\"completed\":".length(), e.getOffset());
+    }
+
+    private static void assertErrorAt(String json, String marker) {
+        JsonParseException e = parseError(json);
+        assertEquals(json.indexOf(marker), e.getOffset(), e.getMessage());
+    }
+
+    private static JsonParseException parseError(String json) {
+        return assertThrows(JsonParseException.class, () -> JsonUtil.parseTasks(new StringReader(json)));
+    }
+
+    static Task task(String title) {
+        Task t = new Task(TaskId.random());
+        t.setTitle(title);
+        t.setCreatedAtMinutes(28_000_000L);
+        return t;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.Priority;
+import com.example.taskscheduler.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.example.taskscheduler.util.JsonTaskReaderTest.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTaskParserTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    void matchesStreamingParseForEveryChunkSize() throws IOException {
+        Random r = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        String[] tricky = {"a, b", "\"quoted, \\\" still\"", "[not, an, array]", "{brace, }", "back\\", "😀, \uD83D"};
+        for (int i = 0; i < 200; i++) {
+            Task t = task(tricky[r.nextInt(tricky.length)] + " " + i);
+            t.setDescription(tricky[r.nextInt(tricky.length)] + ",,," + tricky[r.nextInt(tricky.length)]);
+            t.setPriority(Priority.values()[r.nextInt(3)]);
+            if (r.nextBoolean()) t.setDeadlineMinutes(29_000_000L + r.nextInt(100_000));
+            tasks.add(t);
+        }
+        String json = JsonUtil.toJson(tasks);
+        String streamed = JsonUtil.toJson(JsonUtil.parseTasks(new StringReader(json)));
+
+        for (int chunkSize : new int[] {1, 7, 100, 1000, json.length()}) {
+            assertEquals(streamed, JsonUtil.toJson(parse(json, chunkSize)), "chunk size " + chunkSize);
+        }
+        // An offset into a larger buffer, as when the array was decoded with a header in front
+        char[] framed = ("xx" + json + "yy").toCharArray();
+        List<Task> framedTasks = new ParallelTaskParser(framed, 2, json.length(), 50).parse(POOL);
+        assertEquals(streamed, JsonUtil.toJson(framedTasks));
+    }
+
+    @Test
+    void splitsOnlyAtTopLevelCommas() throws IOException {
+        // Every comma and bracket here is inside a string or a nested value
+        String json = "[{\"id\":\"a,1\",\"title\":\"x\\\",]\",\"extra\":[1,{\"k\":\"]\"}]},"
+                + "{\"id\":\"b\",\"title\":\"\\\\\",\"description\":\"},{\"},"
+                + "{\"id\":\"c\",\"title\":\"\\u002c\"}]";
+
+        List<Task> tasks = parse(json, 1);
+
+        assertEquals(3, tasks.size());
+        assertEquals("a,1", tasks.get(0).getId());
+        assertEquals("x\",]", tasks.get(0).getTitle());
+        assertEquals("\\", tasks.get(1).getTitle());
+        assertEquals("},{", tasks.get(1).getDescription());
+        assertEquals(",", tasks.get(2).getTitle());
+    }
+
+    @Test
+    void emptyInputs() throws IOException {
+        assertTrue(parse("", 1).isEmpty());
+        assertTrue(parse("  [ \n ] ", 1).isEmpty());
+    }
+
+    @Test
+    void errorsReportTheSameOffsetsAsTheStreamingParser() {
+        String good = JsonUtil.toJson(List.of(task("a"), task("b"), task("c")));
+        String[] broken = {
+                good.replace("\"completed\":false", "\"completed\":nope"),
+                good.substring(0, good.length() - 1),
+                good.substring(0, good.length() - 20),
+                good + " x",
+                "{" + good,
+                good.replace("},{", "},,{"),
+        };
+        for (String json : broken) {
+            long expected = assertThrows(JsonParseException.class,
+                    () -> JsonUtil.parseTasks(new StringReader(json))).getOffset();
+            for (int chunkSize : new int[] {1, 1000}) {
+                JsonParseException e = assertThrows(JsonParseException.class, () -> parse(json, chunkSize));
+                assertEquals(expected, e.getOffset(), json + " / " + e.getMessage());
+            }
+        }
+    }
+
+    private static List<Task> parse(String json, int chunkSize) throws IOException {
+        char[] chars = json.toCharArray();
+        return new ParallelTaskParser(chars, 0, chars.length, chunkSize).parse(POOL);
+    }
+}
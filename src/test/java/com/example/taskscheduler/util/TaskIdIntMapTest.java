@@ -0,0 +1,56 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdIntMapTest {
+
+    @Test
+    void agreesWithHashMapUnderRandomPutsAndRemoves() {
+        Random r = new Random(1);
+        List<TaskId> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // A few string ids so the raw key column is exercised too
+            keys.add(i % 10 == 0 ? TaskId.of("legacy-" + i) : new TaskId(r.nextLong(), r.nextLong()));
+        }
+        TaskIdIntMap map = new TaskIdIntMap();
+        Map<TaskId, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 50_000; step++) {
+            TaskId key = keys.get(r.nextInt(keys.size()));
+            if (r.nextInt(3) == 0) {
+                Integer old = expected.remove(key);
+                assertEquals(old == null ? TaskIdIntMap.NONE : old, map.remove(key));
+            } else {
+                int value = r.nextInt(1_000_000);
+                Integer old = expected.put(key, value);
+                assertEquals(old == null ? TaskIdIntMap.NONE : old, map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (TaskId key : keys) {
+            Integer v = expected.get(key);
+            assertEquals(v == null ? TaskIdIntMap.NONE : v, map.get(key));
+            assertEquals(v != null, map.containsKey(key));
+        }
+    }
+
+    @Test
+    void zeroIsAValueAndNegativesAreRejected() {
+        TaskIdIntMap map = new TaskIdIntMap();
+        TaskId id = TaskId.random();
+        assertEquals(TaskIdIntMap.NONE, map.put(id, 0));
+        assertEquals(0, map.get(id));
+        assertThrows(IllegalArgumentException.class, () -> map.put(id, -1));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(TaskIdIntMap.NONE, map.get(id));
+    }
+}
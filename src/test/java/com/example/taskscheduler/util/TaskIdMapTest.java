@@ -0,0 +1,58 @@
+package com.example.taskscheduler.util;
+
+import com.example.taskscheduler.model.TaskId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdMapTest {
+
+    @Test
+    void agreesWithHashMapUnderRandomPutsAndRemoves() {
+        Random r = new Random(2);
+        List<TaskId> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            keys.add(i % 10 == 0 ? TaskId.of("legacy-" + i) : new TaskId(r.nextLong(), r.nextLong()));
+        }
+        TaskIdMap<String> map = new TaskIdMap<>();
+        Map<TaskId, String> expected = new HashMap<>();
+        for (int step = 0; step < 50_000; step++) {
+            TaskId key = keys.get(r.nextInt(keys.size()));
+            if (r.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + step;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (TaskId key : keys) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        Map<TaskId, String> seen = new HashMap<>();
+        map.forEach((k, v) -> assertNull(seen.put(k, v)));
+        assertEquals(expected, seen);
+        assertEquals(expected.size(), map.values().size());
+        assertTrue(map.values().containsAll(expected.values()));
+    }
+
+    @Test
+    void nullValuesAreRejectedAndClearEmptiesTheMap() {
+        TaskIdMap<String> map = new TaskIdMap<>(1);
+        TaskId id = TaskId.of("not-a-uuid");
+        assertThrows(NullPointerException.class, () -> map.put(id, null));
+        map.put(id, "a");
+        assertTrue(map.containsKey(id));
+        assertFalse(map.containsKey(TaskId.random()));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(id));
+        assertFalse(map.values().iterator().hasNext());
+    }
+}